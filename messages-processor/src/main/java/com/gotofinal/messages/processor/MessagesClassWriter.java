@@ -0,0 +1,515 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.processor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.lang.model.SourceVersion;
+
+/**
+ * Writes source of class with typed message accessors.
+ */
+final class MessagesClassWriter
+{
+    private static final String INDENT = "    ";
+    private static final String OBJECT = "Object";
+
+    // fixed parameters and local variable declared by generated methods, placeholder objects can't use their names.
+    private static final String      TARGET_PARAMETER  = "final MessageReceiver target";
+    private static final String      LANG_PARAMETER    = "final Locale lang";
+    private static final String      TARGETS_PARAMETER = "final Iterable<? extends MessageReceiver> targets";
+    private static final String      MESSAGE_VARIABLE  = "final Message message";
+    private static final Set<String> reservedNames     = namesOf(TARGET_PARAMETER, LANG_PARAMETER, TARGETS_PARAMETER, MESSAGE_VARIABLE);
+
+    private final String                    packageName;
+    private final String                    className;
+    private final String                    file;
+    private final Map<String, List<String>> messages;
+    private final Set<String>               globals;
+    private final Map<String, String>       types;
+    private final StringBuilder             builder = new StringBuilder(8192);
+
+    MessagesClassWriter(final String packageName, final String className, final String file, final Map<String, List<String>> messages, final Set<String> globals, final Map<String, String> types)
+    {
+        this.packageName = packageName;
+        this.className = className;
+        this.file = file;
+        this.messages = messages;
+        this.globals = globals;
+        this.types = types;
+    }
+
+    String write()
+    {
+        final List<MessageInfo> infos = new ArrayList<>(this.messages.size());
+        final Set<String> usedNames = new HashSet<>(this.messages.size());
+        usedNames.add("messages");
+        for (final Entry<String, List<String>> entry : this.messages.entrySet())
+        {
+            String name = toIdentifier(entry.getKey());
+            if (! usedNames.add(name))
+            {
+                int i = 2;
+                while (! usedNames.add(name + i))
+                {
+                    i++;
+                }
+                name += i;
+            }
+            infos.add(new MessageInfo(entry.getKey(), name, entry.getValue(), this.scan(entry.getValue())));
+        }
+
+        if (! this.packageName.isEmpty())
+        {
+            this.line(0, "package " + this.packageName + ";").line(0, "");
+        }
+        this.line(0, "import java.util.Locale;").line(0, "");
+        this.line(0, "import com.gotofinal.messages.api.MessageReceiver;");
+        this.line(0, "import com.gotofinal.messages.api.messages.Message;");
+        this.line(0, "import com.gotofinal.messages.api.messages.MessageKey;");
+        this.line(0, "import com.gotofinal.messages.api.messages.MessageSignature;");
+        this.line(0, "import com.gotofinal.messages.api.messages.Messages;").line(0, "");
+        this.line(0, "/**");
+        this.line(0, " * Typed accessors of messages from " + escapeDoc(this.file) + ", generated by messages-processor, do not edit.");
+        this.line(0, " */");
+        this.line(0, "@SuppressWarnings(\"unused\")");
+        this.line(0, "public final class " + this.className);
+        this.line(0, "{");
+        for (final MessageInfo info : infos)
+        {
+            if (info != infos.get(0))
+            {
+                this.line(0, "");
+            }
+            this.line(1, "/**");
+            this.line(1, " * Signature of " + escapeDoc(info.path) + " message.");
+            this.line(1, " */");
+            final StringBuilder names = new StringBuilder(32);
+            for (final String argument : info.arguments.keySet())
+            {
+                if (names.length() != 0)
+                {
+                    names.append(", ");
+                }
+                names.append('"').append(escapeJava(argument)).append('"');
+            }
+            this.line(1, "public static final MessageSignature " + toConstant(info.name) + " = new MessageSignature(" + names + ");");
+        }
+        this.line(0, "");
+        this.line(1, "private final Messages messages;");
+        for (final MessageInfo info : infos)
+        {
+            this.line(1, "private final MessageKey " + info.name + ";");
+        }
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Construct new accessors for given messages, loaded from " + escapeDoc(this.file) + " file.");
+        this.line(1, " *");
+        this.line(1, " * @param messages loaded messages.");
+        this.line(1, " */");
+        this.line(1, "public " + this.className + "(final Messages messages)");
+        this.line(1, "{");
+        this.line(2, "this.messages = messages;");
+        for (final MessageInfo info : infos)
+        {
+            this.line(2, "this." + info.name + " = messages.getKey(\"" + escapeJava(info.path) + "\");");
+        }
+        this.line(1, "}");
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Returns messages used by this accessors.");
+        this.line(1, " *");
+        this.line(1, " * @return messages used by this accessors.");
+        this.line(1, " */");
+        this.line(1, "public Messages getMessages()");
+        this.line(1, "{");
+        this.line(2, "return this.messages;");
+        this.line(1, "}");
+        for (final MessageInfo info : infos)
+        {
+            this.writeMessage(info);
+        }
+        this.line(0, "}");
+        return this.builder.toString();
+    }
+
+    private void writeMessage(final MessageInfo info)
+    {
+        final StringBuilder parameters = new StringBuilder(64);
+        final StringBuilder arguments = new StringBuilder(32);
+        final List<String> docs = new ArrayList<>(info.arguments.size());
+        final Set<String> usedNames = new HashSet<>(reservedNames);
+        for (final Entry<String, String> entry : info.arguments.entrySet())
+        {
+            String parameter = toIdentifier(entry.getKey());
+            while (! usedNames.add(parameter))
+            {
+                parameter += "_";
+            }
+            final String type = (entry.getValue() == null) ? OBJECT : this.types.getOrDefault(entry.getValue(), OBJECT);
+            parameters.append(", final ").append(type).append(' ').append(parameter);
+            arguments.append(", ").append(parameter);
+            docs.add(" * @param " + parameter + " object used by $&lt;" + escapeDoc(entry.getKey()) + "&gt; placeholders.");
+        }
+        final String signature = toConstant(info.name);
+        final String suffix = Character.toUpperCase(info.name.charAt(0)) + info.name.substring(1);
+
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Returns " + escapeDoc(info.path) + " message:");
+        for (final String text : info.texts)
+        {
+            this.line(1, " * <pre>" + escapeDoc(text) + "</pre>");
+        }
+        this.line(1, " *");
+        this.line(1, " * @return message or null if there is no such message.");
+        this.line(1, " */");
+        this.line(1, "public Message get" + suffix + "()");
+        this.line(1, "{");
+        this.line(2, "return this." + info.name + ".getMessage();");
+        this.line(1, "}");
+
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Try send " + escapeDoc(info.path) + " message to given receiver in preferred language of receiver.");
+        this.line(1, " *");
+        this.line(1, " * @param target target of message.");
+        this.lines(docs);
+        this.line(1, " *");
+        this.line(1, " * @return true if message was send.");
+        this.line(1, " */");
+        this.line(1, "public boolean send" + suffix + "(" + TARGET_PARAMETER + parameters + ")");
+        this.line(1, "{");
+        this.line(2, MESSAGE_VARIABLE + " = this." + info.name + ".getMessage();");
+        this.line(2, "return (message != null) && message.sendMessage(target, target.getPreferredLocale(), " + signature + arguments + ");");
+        this.line(1, "}");
+
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Try send " + escapeDoc(info.path) + " message to given receiver in given language.");
+        this.line(1, " *");
+        this.line(1, " * @param target target of message.");
+        this.line(1, " * @param lang   language to use if possible.");
+        this.lines(docs);
+        this.line(1, " *");
+        this.line(1, " * @return true if message was send.");
+        this.line(1, " */");
+        this.line(1, "public boolean send" + suffix + "In(" + TARGET_PARAMETER + ", " + LANG_PARAMETER + parameters + ")");
+        this.line(1, "{");
+        this.line(2, MESSAGE_VARIABLE + " = this." + info.name + ".getMessage();");
+        this.line(2, "return (message != null) && message.sendMessage(target, lang, " + signature + arguments + ");");
+        this.line(1, "}");
+
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Try broadcast " + escapeDoc(info.path) + " message to all receivers in preferred language of each receiver.");
+        this.line(1, " *");
+        this.lines(docs);
+        this.line(1, " *");
+        this.line(1, " * @return true if message was send.");
+        this.line(1, " */");
+        this.line(1, "public boolean broadcast" + suffix + "(" + ((parameters.length() == 0) ? "" : parameters.substring(2)) + ")");
+        this.line(1, "{");
+        this.line(2, MESSAGE_VARIABLE + " = this." + info.name + ".getMessage();");
+        this.line(2, "return (message != null) && message.broadcastMessage(" + signature + arguments + ");");
+        this.line(1, "}");
+
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Try broadcast " + escapeDoc(info.path) + " message to given receivers in preferred language of each receiver.");
+        this.line(1, " *");
+        this.line(1, " * @param targets targets of message.");
+        this.lines(docs);
+        this.line(1, " *");
+        this.line(1, " * @return true if message was send.");
+        this.line(1, " */");
+        this.line(1, "public boolean broadcast" + suffix + "To(" + TARGETS_PARAMETER + parameters + ")");
+        this.line(1, "{");
+        this.line(2, MESSAGE_VARIABLE + " = this." + info.name + ".getMessage();");
+        this.line(2, "return (message != null) && message.broadcastMessage(targets, null, " + signature + arguments + ");");
+        this.line(1, "}");
+    }
+
+    /**
+     * Find all placeholder objects used in given strings, in this same way as messages api parse them,
+     * objects used by placeholders nested in arguments of other placeholders are also included.
+     *
+     * @param texts texts of message.
+     *
+     * @return map of object names to placeholder type ids, or to null if object is used with few different types.
+     */
+    private Map<String, String> scan(final List<String> texts)
+    {
+        final Map<String, String> result = new LinkedHashMap<>(5);
+        for (final String text : texts)
+        {
+            StringBuilder key = null;
+            int depth = 0;
+            char lastChar = '\u0000';
+            for (final char c : text.toCharArray())
+            {
+                if (key == null)
+                {
+                    if (c == '$')
+                    {
+                        if (lastChar != '\\')
+                        {
+                            lastChar = c;
+                        }
+                        continue;
+                    }
+                    if ((lastChar == '$') && (c == '<'))
+                    {
+                        key = new StringBuilder(64);
+                    }
+                    lastChar = c;
+                    continue;
+                }
+                if (c == '>')
+                {
+                    if (depth > 0)
+                    {
+                        depth--;
+                        key.append(c);
+                        lastChar = c;
+                        continue;
+                    }
+                    this.scanKey(key.toString(), result);
+                    key = null;
+                }
+                else if ((c == '<') && (lastChar == '$'))
+                {
+                    depth++;
+                    key.append(c);
+                }
+                else if (((c >= '0') && (c <= '9')) || ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z')) || (c == '_') || (c == '.') || (c == ':') || (c == ',') || (c == '-') || (c == '$'))
+                {
+                    key.append(c);
+                }
+                else
+                {
+                    key = null;
+                    depth = 0;
+                }
+                lastChar = c;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Add object used by given placeholder key to result, and objects of all placeholders nested in its arguments.
+     *
+     * @param key    placeholder key, without "$&lt;" and "&gt;".
+     * @param result map of object names to placeholder type ids.
+     */
+    private void scanKey(final String key, final Map<String, String> result)
+    {
+        int index = key.indexOf('.');
+        final int nested = key.indexOf("$<");
+        if ((nested != - 1) && (index > nested))
+        {
+            index = - 1;
+        }
+        if (index == - 1)
+        {
+            if (nested == - 1)
+            {
+                this.addObject(key, key, result);
+            }
+            return;
+        }
+        final String type = key.substring(0, index);
+        final int typeIndex = type.indexOf(':');
+        this.addObject((typeIndex == - 1) ? type : type.substring(typeIndex + 1), (typeIndex == - 1) ? type : type.substring(0, typeIndex), result);
+
+        final String value = key.substring(index + 1);
+        final int argsIndex = value.indexOf(':');
+        if (argsIndex == - 1)
+        {
+            return;
+        }
+        final String args = value.substring(argsIndex + 1);
+        int start = args.indexOf("$<");
+        while (start != - 1)
+        {
+            final int end = endOf(args, start);
+            if (end == - 1)
+            {
+                return;
+            }
+            this.scanKey(args.substring(start + 2, end), result);
+            start = args.indexOf("$<", end + 1);
+        }
+    }
+
+    private void addObject(final String objectName, final String typeID, final Map<String, String> result)
+    {
+        if (objectName.isEmpty() || this.globals.contains(objectName))
+        {
+            return;
+        }
+        if (result.containsKey(objectName))
+        {
+            if ((result.get(objectName) != null) && ! result.get(objectName).equals(typeID))
+            {
+                result.put(objectName, null);
+            }
+        }
+        else
+        {
+            result.put(objectName, typeID);
+        }
+    }
+
+    // index of '>' closing placeholder started at given index, nested placeholders are skipped.
+    private static int endOf(final String str, final int start)
+    {
+        int depth = 0;
+        for (int i = start + 2; i < str.length(); i++)
+        {
+            final char c = str.charAt(i);
+            if (c == '>')
+            {
+                if (depth == 0)
+                {
+                    return i;
+                }
+                depth--;
+            }
+            else if ((c == '<') && (str.charAt(i - 1) == '$'))
+            {
+                depth++;
+            }
+        }
+        return - 1;
+    }
+
+    private static Set<String> namesOf(final String... declarations)
+    {
+        final Set<String> names = new HashSet<>(declarations.length);
+        for (final String declaration : declarations)
+        {
+            names.add(declaration.substring(declaration.lastIndexOf(' ') + 1));
+        }
+        return names;
+    }
+
+    private MessagesClassWriter line(final int indent, final String line)
+    {
+        if (! line.isEmpty())
+        {
+            for (int i = 0; i < indent; i++)
+            {
+                this.builder.append(INDENT);
+            }
+        }
+        this.builder.append(line).append('\n');
+        return this;
+    }
+
+    private void lines(final List<String> docs)
+    {
+        for (final String doc : docs)
+        {
+            this.line(1, doc);
+        }
+    }
+
+    /**
+     * Returns camel case java identifier for given path, like "playerJoinFirst" for "player.join-first".
+     */
+    private static String toIdentifier(final String path)
+    {
+        final StringBuilder result = new StringBuilder(path.length());
+        boolean upper = false;
+        for (final char c : path.toCharArray())
+        {
+            if (! Character.isLetterOrDigit(c))
+            {
+                upper = result.length() != 0;
+                continue;
+            }
+            result.append(upper ? Character.toUpperCase(c) : ((result.length() == 0) ? Character.toLowerCase(c) : c));
+            upper = false;
+        }
+        if ((result.length() == 0) || ! Character.isJavaIdentifierStart(result.charAt(0)))
+        {
+            result.insert(0, '_');
+        }
+        final String identifier = result.toString();
+        return SourceVersion.isKeyword(identifier) ? (identifier + "_") : identifier;
+    }
+
+    /**
+     * Returns constant name for given camel case identifier, like "PLAYER_JOIN_FIRST" for "playerJoinFirst".
+     */
+    private static String toConstant(final String identifier)
+    {
+        final StringBuilder result = new StringBuilder(identifier.length() + 8);
+        for (int i = 0; i < identifier.length(); i++)
+        {
+            final char c = identifier.charAt(i);
+            if ((i != 0) && Character.isUpperCase(c) && (identifier.charAt(i - 1) != '_'))
+            {
+                result.append('_');
+            }
+            result.append(Character.toUpperCase(c));
+        }
+        return result.toString();
+    }
+
+    private static String escapeJava(final String str)
+    {
+        return str.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String escapeDoc(final String str)
+    {
+        return str.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("@", "&#64;").replace("*/", "*&#47;").replace("\\u", "\\\\u").replace("\n", " ");
+    }
+
+    private static final class MessageInfo
+    {
+        private final String              path;
+        private final String              name;
+        private final List<String>        texts;
+        private final Map<String, String> arguments;
+
+        private MessageInfo(final String path, final String name, final List<String> texts, final Map<String, String> arguments)
+        {
+            this.path = path;
+            this.name = name;
+            this.texts = texts;
+            this.arguments = arguments;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * Annotation processor for {@link com.gotofinal.messages.api.messages.GenerateMessages}, reads default language file from resources
+ * and generates class with typed accessors for each message.
+ */
+@SupportedAnnotationTypes(MessagesProcessor.ANNOTATION)
+public class MessagesProcessor extends AbstractProcessor
+{
+    static final String ANNOTATION = "com.gotofinal.messages.api.messages.GenerateMessages";
+
+    private static final StandardLocation[] LOCATIONS = {StandardLocation.CLASS_OUTPUT, StandardLocation.SOURCE_PATH, StandardLocation.CLASS_PATH};
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv)
+    {
+        for (final TypeElement annotation : annotations)
+        {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation))
+            {
+                for (final AnnotationMirror mirror : element.getAnnotationMirrors())
+                {
+                    if (mirror.getAnnotationType().toString().equals(ANNOTATION))
+                    {
+                        this.process((TypeElement) element, mirror);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void process(final TypeElement element, final AnnotationMirror mirror)
+    {
+        final Map<String, Object> values = new HashMap<>(10);
+        for (final Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : this.processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet())
+        {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+        }
+        final String file = (String) values.get("value");
+        final String className = ((String) values.get("className")).isEmpty() ? (element.getSimpleName() + "Messages") : (String) values.get("className");
+        final char separator = (Character) values.get("separator");
+        final Set<String> globals = new HashSet<>(5);
+        for (final Object global : (List<?>) values.get("globals"))
+        {
+            globals.add((String) ((AnnotationValue) global).getValue());
+        }
+        final Map<String, String> types = new HashMap<>(5);
+        for (final Object type : (List<?>) values.get("types"))
+        {
+            String name = null;
+            String javaType = null;
+            for (final Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : ((AnnotationMirror) ((AnnotationValue) type).getValue()).getElementValues().entrySet())
+            {
+                if (entry.getKey().getSimpleName().contentEquals("name"))
+                {
+                    name = (String) entry.getValue().getValue();
+                }
+                else
+                {
+                    javaType = entry.getValue().getValue().toString();
+                }
+            }
+            types.put(name, javaType);
+        }
+
+        final Map<?, ?> yaml;
+        try
+        {
+            yaml = this.load(file);
+        } catch (final IOException e)
+        {
+            this.processingEnv.getMessager().printMessage(Kind.ERROR, "Can't read messages file: " + file + ", " + e.getMessage(), element, mirror);
+            return;
+        }
+        final Map<String, List<String>> messages = new LinkedHashMap<>(100);
+        flatten("", separator, yaml, messages);
+
+        final PackageElement packageElement = this.processingEnv.getElementUtils().getPackageOf(element);
+        final String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        final String source = new MessagesClassWriter(packageName, className, file, messages, globals, types).write();
+        try
+        {
+            final JavaFileObject sourceFile = this.processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? className : (packageName + "." + className), element);
+            try (final Writer writer = sourceFile.openWriter())
+            {
+                writer.write(source);
+            }
+        } catch (final IOException e)
+        {
+            this.processingEnv.getMessager().printMessage(Kind.ERROR, "Can't write generated class: " + className + ", " + e.getMessage(), element, mirror);
+        }
+    }
+
+    private Map<?, ?> load(final String file) throws IOException
+    {
+        IOException exception = null;
+        for (final StandardLocation location : LOCATIONS)
+        {
+            try
+            {
+                final FileObject resource = this.processingEnv.getFiler().getResource(location, "", file);
+                try (final InputStream inputStream = resource.openInputStream())
+                {
+                    final Object loaded = new Yaml().load(inputStream);
+                    return (loaded instanceof Map) ? (Map<?, ?>) loaded : new HashMap<>(1);
+                }
+            } catch (final IOException | IllegalArgumentException e)
+            {
+                exception = (e instanceof IOException) ? (IOException) e : new IOException(e);
+            }
+        }
+        throw exception;
+    }
+
+    private static void flatten(final String node, final char separator, final Map<?, ?> map, final Map<String, List<String>> result)
+    {
+        for (final Entry<?, ?> entry : map.entrySet())
+        {
+            final String path = node + entry.getKey();
+            final Object value = entry.getValue();
+            if (value instanceof Map)
+            {
+                flatten(path + separator, separator, (Map<?, ?>) value, result);
+            }
+            else if (value instanceof Collection)
+            {
+                final List<String> strings = new ArrayList<>(((Collection<?>) value).size());
+                for (final Object o : (Collection<?>) value)
+                {
+                    strings.add(String.valueOf(o));
+                }
+                result.put(path, strings);
+            }
+            else
+            {
+                final List<String> strings = new ArrayList<>(1);
+                strings.add(String.valueOf(value));
+                result.put(path, strings);
+            }
+        }
+    }
+}
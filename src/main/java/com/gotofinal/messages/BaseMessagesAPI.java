@@ -1,6 +1,8 @@
 package com.gotofinal.messages;
 
 import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import com.gotofinal.messages.api.BroadcastReceiver;
 import com.gotofinal.messages.api.MessagesAPI;
@@ -13,6 +15,7 @@ public abstract class BaseMessagesAPI implements MessagesAPI
 {
     protected final MessageLoader     loader            = new MessageLoader(this);
     protected       BroadcastReceiver broadcastReceiver = new BroadcastReceiver(this);
+    protected       Executor          renderExecutor    = ForkJoinPool.commonPool();
 
     protected Locale[] locales;
 
@@ -56,6 +59,18 @@ public abstract class BaseMessagesAPI implements MessagesAPI
         this.broadcastReceiver = receiver;
     }
 
+    @Override
+    public Executor getRenderExecutor()
+    {
+        return this.renderExecutor;
+    }
+
+    @Override
+    public void setRenderExecutor(final Executor renderExecutor)
+    {
+        this.renderExecutor = renderExecutor;
+    }
+
     @Override
     public MessageLoader getMessageLoader()
     {
@@ -65,6 +80,6 @@ public abstract class BaseMessagesAPI implements MessagesAPI
     @Override
     public String toString()
     {
-        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("loader", this.loader).append("locales", this.locales).toString();
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("loader", this.loader).append("renderExecutor", this.renderExecutor).append("locales", this.locales).toString();
     }
 }
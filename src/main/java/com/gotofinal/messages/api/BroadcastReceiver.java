@@ -28,6 +28,12 @@ public class BroadcastReceiver implements MessageReceiver
         this.api.broadcastMessage(msg);
     }
 
+    @Override
+    public void sendMessage(final PreparedComponent msg)
+    {
+        this.api.broadcastMessage(msg);
+    }
+
     @Override
     public String toString()
     {
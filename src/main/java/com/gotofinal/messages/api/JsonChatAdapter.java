@@ -0,0 +1,14 @@
+package com.gotofinal.messages.api;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Sends already serialized json message directly to platform receiver, so json of message is created only once for all receivers.
+ *
+ * @param <T> type of platform receiver.
+ *
+ * @see PreparedComponent#toJson()
+ */
+public interface JsonChatAdapter<T> extends BiConsumer<T, String>
+{
+}
@@ -16,6 +16,26 @@ public interface MessageReceiver
      */
     void sendMessage(BaseComponent msg);
 
+    /**
+     * Sends prepared message to receiver, implementations should use cached conversion of it if possible.
+     *
+     * @param msg message to send.
+     */
+    default void sendMessage(final PreparedComponent msg)
+    {
+        this.sendMessage(msg.getComponent());
+    }
+
+    /**
+     * Returns true if messages can be send to this receiver from any thread.
+     *
+     * @return true if messages can be send to this receiver from any thread.
+     */
+    default boolean isAsyncSafe()
+    {
+        return false;
+    }
+
     /**
      * Returns preferred locale of this receiver, may return null.
      *
@@ -1,6 +1,8 @@
 package com.gotofinal.messages.api;
 
 import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
 
 import com.gotofinal.messages.api.chat.component.BaseComponent;
@@ -25,6 +27,30 @@ public interface MessagesAPI
      */
     void setChatConverter(ChatConverter<?> chatConverter);
 
+    /**
+     * Returns adapter used to send already serialized json messages to players, may be null if not supported. <br>
+     * Default implementation returns null.
+     *
+     * @return adapter used to send json messages or null.
+     */
+    default JsonChatAdapter<?> getJsonChatAdapter()
+    {
+        return null;
+    }
+
+    /**
+     * Set adapter used to send already serialized json messages to players, use null to always send converted messages. <br>
+     * Default implementation don't support json messages.
+     *
+     * @param jsonChatAdapter adapter used to send json messages or null.
+     *
+     * @throws UnsupportedOperationException if json messages aren't supported.
+     */
+    default void setJsonChatAdapter(final JsonChatAdapter<?> jsonChatAdapter)
+    {
+        throw new UnsupportedOperationException("Json messages aren't supported by " + this.getClass().getName());
+    }
+
     /**
      * Returns function that convert implementation message receivers to {@link MessageReceiver} objects.
      *
@@ -53,6 +79,53 @@ public interface MessagesAPI
      */
     void setBroadcastReceiver(BroadcastReceiver receiver);
 
+    /**
+     * Returns executor used to render asynchronous messages. <br>
+     * Default implementation returns {@link ForkJoinPool#commonPool()}.
+     *
+     * @return executor used to render asynchronous messages.
+     */
+    default Executor getRenderExecutor()
+    {
+        return ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Set executor used to render asynchronous messages. <br>
+     * Default implementation don't support changing executor.
+     *
+     * @param renderExecutor executor used to render asynchronous messages.
+     *
+     * @throws UnsupportedOperationException if executor can't be changed.
+     */
+    default void setRenderExecutor(final Executor renderExecutor)
+    {
+        throw new UnsupportedOperationException("Render executor can't be changed in " + this.getClass().getName());
+    }
+
+    /**
+     * Returns executor used to deliver asynchronous messages to receivers that aren't async safe, may be null if there is no main thread. <br>
+     * If there is no main thread executor, asynchronous messages for such receivers are rendered and send on calling thread. <br>
+     * Default implementation returns null.
+     *
+     * @return executor of main thread or null.
+     *
+     * @see MessageReceiver#isAsyncSafe()
+     */
+    default Executor getMainThreadExecutor()
+    {
+        return null;
+    }
+
+    /**
+     * Prepare platform representation of given message, called on render thread of asynchronous messages, so main thread only sends ready message.
+     *
+     * @param msg message to prepare.
+     */
+    default void prepareMessage(final PreparedComponent msg)
+    {
+    }
+
     /**
      * Returns languages supported by this api instance.
      *
@@ -74,6 +147,16 @@ public interface MessagesAPI
      */
     void broadcastMessage(BaseComponent msg);
 
+    /**
+     * Sends prepared message to all online players, implementations should use cached conversion of it if possible.
+     *
+     * @param msg message to send.
+     */
+    default void broadcastMessage(final PreparedComponent msg)
+    {
+        this.broadcastMessage(msg.getComponent());
+    }
+
     /**
      * Returns iterable of all receivers.
      *
@@ -0,0 +1,120 @@
+package com.gotofinal.messages.api;
+
+import com.gotofinal.messages.api.chat.component.BaseComponent;
+import com.gotofinal.messages.api.chat.component.serialize.ComponentSerializer;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Rendered message ready to send, remembers result of last platform conversion, json and plain text form,
+ * so this same component send multiple times is converted only once. <br>
+ * Wrapped component and converted objects are shared, so they must not be edited.
+ */
+public final class PreparedComponent
+{
+    private final    BaseComponent component;
+    private volatile Converted     converted;
+    private volatile String        plainText;
+    private volatile String        json;
+
+    /**
+     * Construct new prepared component for given component.
+     *
+     * @param component rendered component, it must not be edited after this.
+     */
+    public PreparedComponent(final BaseComponent component)
+    {
+        this.component = component;
+    }
+
+    /**
+     * Returns wrapped component, it must not be edited.
+     *
+     * @return wrapped component.
+     */
+    public BaseComponent getComponent()
+    {
+        return this.component;
+    }
+
+    /**
+     * Returns component converted by given converter, conversion is done only once for each converter in row.
+     *
+     * @param converter converter to use.
+     * @param <T>       type of platform component.
+     *
+     * @return converted component, it must not be edited.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convert(final ChatConverter<T> converter)
+    {
+        Converted converted = this.converted;
+        if ((converted == null) || (converted.converter != converter))
+        {
+            converted = new Converted(converter, converter.apply(this.component));
+            this.converted = converted;
+        }
+        return (T) converted.value;
+    }
+
+    /**
+     * Returns plain text of wrapped component.
+     *
+     * @return plain text of wrapped component.
+     *
+     * @see BaseComponent#toPlainText()
+     */
+    public String toPlainText()
+    {
+        String plainText = this.plainText;
+        if (plainText == null)
+        {
+            plainText = this.component.toPlainText();
+            this.plainText = plainText;
+        }
+        return plainText;
+    }
+
+    /**
+     * Returns json representation of wrapped component.
+     *
+     * @return json representation of wrapped component.
+     *
+     * @see ComponentSerializer#toString(BaseComponent)
+     */
+    public String toJson()
+    {
+        String json = this.json;
+        if (json == null)
+        {
+            json = ComponentSerializer.toString(this.component);
+            this.json = json;
+        }
+        return json;
+    }
+
+    @Override
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("component", this.component).toString();
+    }
+
+    private static final class Converted
+    {
+        private final ChatConverter<?> converter;
+        private final Object           value;
+
+        private Converted(final ChatConverter<?> converter, final Object value)
+        {
+            this.converter = converter;
+            this.value = value;
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("converter", this.converter).append("value", this.value).toString();
+        }
+    }
+}
@@ -25,8 +25,8 @@
 package com.gotofinal.messages.api.chat.component;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import com.gotofinal.messages.api.chat.ChatColor;
 
@@ -39,33 +39,13 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 public abstract class BaseComponent extends ReplacableComponent
 {
     /**
-     * parent node of this node.
+     * parent node of this node, frozen nodes may be shared by many trees so they don't have parent.
      */
     protected BaseComponent       parent;
     /**
-     * color of component, var may be null.
+     * style of component, color and style flags, interned.
      */
-    protected ChatColor           color;
-    /**
-     * if component use bold style, may be null.
-     */
-    protected Boolean             bold;
-    /**
-     * if component use italic style, may be null.
-     */
-    protected Boolean             italic;
-    /**
-     * if component use underlined style, may be null.
-     */
-    protected Boolean             underlined;
-    /**
-     * if component use strikethrough style, may be null.
-     */
-    protected Boolean             strikethrough;
-    /**
-     * if component use obfuscated style, may be null.
-     */
-    protected Boolean             obfuscated;
+    protected Style               style = Style.EMPTY;
     /**
      * extra/next elements appended after this element.
      */
@@ -78,26 +58,45 @@ public abstract class BaseComponent extends ReplacableComponent
      * Hover event for this component, may be null.
      */
     protected HoverEvent          hoverEvent;
+    /**
+     * Cached texts of this component, used only by frozen components.
+     */
+    private   DerivedTexts        derivedTexts;
 
     /**
-     * Construct new BaseComponent as copy of old one.
+     * Construct new BaseComponent as deep copy of old one.
      *
      * @param old component to copy.
      */
     BaseComponent(final BaseComponent old)
     {
-        this.color = old.getColorRaw();
-        this.bold = old.isBoldRaw();
-        this.italic = old.isItalicRaw();
-        this.underlined = old.isUnderlinedRaw();
-        this.strikethrough = old.isStrikethroughRaw();
-        this.obfuscated = old.isObfuscatedRaw();
-        this.clickEvent = (old.clickEvent == null) ? null : old.clickEvent.duplicate();
-        this.hoverEvent = (old.hoverEvent == null) ? null : old.hoverEvent.duplicate();
+        this(old, false);
+    }
+
+    /**
+     * Construct new BaseComponent as copy of old one.
+     *
+     * @param old         component to copy.
+     * @param shareFrozen if frozen children and events of old component should be shared instead of copied.
+     */
+    BaseComponent(final BaseComponent old, final boolean shareFrozen)
+    {
+        this.style = old.style;
+        if (old.clickEvent != null)
+        {
+            this.clickEvent = (shareFrozen && old.clickEvent.frozen) ? old.clickEvent : old.clickEvent.duplicate();
+        }
+        if (old.hoverEvent != null)
+        {
+            this.hoverEvent = (shareFrozen && old.hoverEvent.frozen) ? old.hoverEvent : old.hoverEvent.copy(shareFrozen);
+        }
         if (old.extra != null)
         {
             this.extra = new ArrayList<>(old.extra.size());
-            this.extra.addAll(old.extra.stream().map(BaseComponent::duplicate).collect(Collectors.toList()));
+            for (final BaseComponent component : old.extra)
+            {
+                this.extra.add(this.adopt(component, shareFrozen));
+            }
         }
     }
 
@@ -110,11 +109,28 @@ public abstract class BaseComponent extends ReplacableComponent
 
     /**
      * Returns true if this base component can be changed to legacy string without removing any features. <br>
-     * Method just check if this component use any events that can't be used in legacy chat format.
+     * Method just check if this component use any events that can't be used in legacy chat format. <br>
+     * Result is remembered by frozen components.
      *
      * @return true if this base component can be changed to legacy string without removing any features.
      */
     public boolean canBeLegacy()
+    {
+        if (! this.frozen)
+        {
+            return this.checkLegacy();
+        }
+        final DerivedTexts derivedTexts = this.getDerivedTexts();
+        Boolean canBeLegacy = derivedTexts.canBeLegacy;
+        if (canBeLegacy == null)
+        {
+            canBeLegacy = this.checkLegacy();
+            derivedTexts.canBeLegacy = canBeLegacy;
+        }
+        return canBeLegacy;
+    }
+
+    private boolean checkLegacy()
     {
         if (this.clickEvent != null)
         {
@@ -139,14 +155,114 @@ public abstract class BaseComponent extends ReplacableComponent
         return true;
     }
 
+    @Override
+    public BaseComponent freeze()
+    {
+        if (this.frozen)
+        {
+            return this;
+        }
+        this.frozen = true;
+        this.parent = null;
+        if (this.extra != null)
+        {
+            for (final BaseComponent component : this.extra)
+            {
+                component.freeze();
+            }
+            this.extra = Collections.unmodifiableList(this.extra);
+        }
+        if (this.clickEvent != null)
+        {
+            this.clickEvent.freeze();
+        }
+        if (this.hoverEvent != null)
+        {
+            this.hoverEvent.freeze();
+        }
+        return this;
+    }
+
+    /**
+     * Returns copy of given component that use this component as parent, or given component itself if it is frozen and frozen components should be shared.
+     *
+     * @param component   component to copy.
+     * @param shareFrozen if frozen component should be shared instead of copied.
+     *
+     * @return copy of given component or given frozen component.
+     */
+    BaseComponent adopt(final BaseComponent component, final boolean shareFrozen)
+    {
+        if (shareFrozen && component.frozen)
+        {
+            return component;
+        }
+        final BaseComponent copy = component.copy(shareFrozen);
+        copy.parent = this;
+        return copy;
+    }
+
+    /**
+     * Returns editable copy of this component, if frozen children should be shared, then only this component is copied and frozen children are shared
+     * with it, otherwise this is same as {@link #duplicate()}. <br>
+     * Components that don't support sharing always return deep copy.
+     *
+     * @param shareFrozen if frozen children should be shared instead of copied.
+     *
+     * @return editable copy of this component.
+     */
+    BaseComponent copy(final boolean shareFrozen)
+    {
+        return this.duplicate();
+    }
+
+    /**
+     * Returns editable child from given list, frozen child is replaced in list by own copy first (copy-on-write).
+     *
+     * @param components list of children of this component.
+     * @param index      index of child.
+     *
+     * @return editable child.
+     */
+    BaseComponent editable(final List<BaseComponent> components, final int index)
+    {
+        final BaseComponent component = components.get(index);
+        if (! component.frozen)
+        {
+            return component;
+        }
+        final BaseComponent copy = component.copy(true);
+        copy.parent = this;
+        components.set(index, copy);
+        return copy;
+    }
+
+    private HoverEvent editableHoverEvent()
+    {
+        if (this.hoverEvent.frozen)
+        {
+            this.hoverEvent = this.hoverEvent.copy(true);
+        }
+        return this.hoverEvent;
+    }
+
+    private ClickEvent editableClickEvent()
+    {
+        if (this.clickEvent.frozen)
+        {
+            this.clickEvent = this.clickEvent.duplicate();
+        }
+        return this.clickEvent;
+    }
+
     @Override
     protected int replace_(final String text, final BaseComponent component, int limit)
     {
         if (this.extra != null)
         {
-            for (final BaseComponent bs : this.extra)
+            for (int i = 0, size = this.extra.size(); i < size; i++)
             {
-                limit = bs.replace_(text, component, limit);
+                limit = this.editable(this.extra, i).replace_(text, component, limit);
                 if (limit == 0)
                 {
                     return 0;
@@ -155,7 +271,7 @@ public abstract class BaseComponent extends ReplacableComponent
         }
         if (this.hoverEvent != null)
         {
-            limit = this.hoverEvent.replace_(text, component, limit);
+            limit = this.editableHoverEvent().replace_(text, component, limit);
             if (limit == 0)
             {
                 return 0;
@@ -163,7 +279,7 @@ public abstract class BaseComponent extends ReplacableComponent
         }
         if (this.clickEvent != null)
         {
-            limit = this.clickEvent.replace_(text, component, limit);
+            limit = this.editableClickEvent().replace_(text, component, limit);
             if (limit == 0)
             {
                 return 0;
@@ -177,9 +293,9 @@ public abstract class BaseComponent extends ReplacableComponent
     {
         if (this.extra != null)
         {
-            for (final BaseComponent bs : this.extra)
+            for (int i = 0, size = this.extra.size(); i < size; i++)
             {
-                limit = bs.replace_(text, repl, limit);
+                limit = this.editable(this.extra, i).replace_(text, repl, limit);
                 if (limit == 0)
                 {
                     return 0;
@@ -188,7 +304,7 @@ public abstract class BaseComponent extends ReplacableComponent
         }
         if (this.hoverEvent != null)
         {
-            limit = this.hoverEvent.replace_(text, repl, limit);
+            limit = this.editableHoverEvent().replace_(text, repl, limit);
             if (limit == 0)
             {
                 return 0;
@@ -196,7 +312,7 @@ public abstract class BaseComponent extends ReplacableComponent
         }
         if (this.clickEvent != null)
         {
-            limit = this.clickEvent.replace_(text, repl, limit);
+            limit = this.editableClickEvent().replace_(text, repl, limit);
             if (limit == 0)
             {
                 return 0;
@@ -205,8 +321,31 @@ public abstract class BaseComponent extends ReplacableComponent
         return limit;
     }
 
+    @Override
+    protected boolean replaceAll_(final MultiReplacer replacer)
+    {
+        boolean replaced = false;
+        if (this.extra != null)
+        {
+            for (int i = 0, size = this.extra.size(); i < size; i++)
+            {
+                replaced |= this.editable(this.extra, i).replaceAll_(replacer);
+            }
+        }
+        if (this.hoverEvent != null)
+        {
+            replaced |= this.editableHoverEvent().replaceAll_(replacer);
+        }
+        if (this.clickEvent != null)
+        {
+            replaced |= this.editableClickEvent().replaceAll_(replacer);
+        }
+        return replaced;
+    }
+
     /**
-     * Returns parent node for this chat node, may be null.
+     * Returns parent node for this chat node, may be null. <br>
+     * Frozen nodes may be shared by many trees, so they never have parent.
      *
      * @return parent node for this chat node, may be null.
      */
@@ -222,6 +361,7 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public void setParent(final BaseComponent parent)
     {
+        this.checkFrozen();
         this.parent = parent;
     }
 
@@ -236,15 +376,20 @@ public abstract class BaseComponent extends ReplacableComponent
     }
 
     /**
-     * Set list of extra/next elements appended after this one.
+     * Set list of extra/next elements appended after this one. <br>
+     * Frozen elements are shared and stay without parent.
      *
      * @param components new list of extra/next elements.
      */
     public void setExtra(final List<BaseComponent> components)
     {
+        this.checkFrozen();
         for (final BaseComponent component : components)
         {
-            component.parent = this;
+            if (! component.frozen)
+            {
+                component.parent = this;
+            }
         }
         this.extra = new ArrayList<>(components);
     }
@@ -266,6 +411,7 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public void setClickEvent(final ClickEvent clickEvent)
     {
+        this.checkFrozen();
         this.clickEvent = clickEvent;
     }
 
@@ -286,18 +432,42 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public void setHoverEvent(final HoverEvent hoverEvent)
     {
+        this.checkFrozen();
         this.hoverEvent = hoverEvent;
     }
 
+    /**
+     * Returns style of this node, it contains raw color and style flags, without values inherited from parent.
+     *
+     * @return style of this node.
+     */
+    public Style getStyle()
+    {
+        return this.style;
+    }
+
+    /**
+     * Set style of this node, replacing color and all style flags at once.
+     *
+     * @param style new style of this node.
+     */
+    public void setStyle(final Style style)
+    {
+        this.checkFrozen();
+        this.style = (style == null) ? Style.EMPTY : style;
+    }
+
     /**
      * Returns color of this node, if color of this node is null it will return color of parent node,
-     * if it is also null it will return default, {@link ChatColor#WHITE} color.
+     * if it is also null it will return default, {@link ChatColor#WHITE} color. <br>
+     * Frozen nodes don't have parent, so only own color is checked, see {@link #getStyle()} and {@link Style#inherit(Style)}.
      *
      * @return color of this node.
      */
     public ChatColor getColor()
     {
-        if (this.color == null)
+        final ChatColor color = this.style.getColor();
+        if (color == null)
         {
             if (this.parent == null)
             {
@@ -305,7 +475,7 @@ public abstract class BaseComponent extends ReplacableComponent
             }
             return this.parent.getColor();
         }
-        return this.color;
+        return color;
     }
 
     /**
@@ -315,7 +485,8 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public void setColor(final ChatColor color)
     {
-        this.color = color;
+        this.checkFrozen();
+        this.style = this.style.withColor(color);
     }
 
     /**
@@ -328,21 +499,23 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public ChatColor getColorRaw()
     {
-        return this.color;
+        return this.style.getColor();
     }
 
     /**
-     * Check if this node use bold style, it will check value of this node and parent nodes.
+     * Check if this node use bold style, it will check value of this node and parent nodes. <br>
+     * Frozen nodes don't have parent, so only own value is checked.
      *
      * @return true if this node use bold style.
      */
     public boolean isBold()
     {
-        if (this.bold == null)
+        final Boolean bold = this.style.isBold();
+        if (bold == null)
         {
             return (this.parent != null) && (this.parent.isBold());
         }
-        return this.bold;
+        return bold;
     }
 
     /**
@@ -352,7 +525,8 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public void setBold(final Boolean bold)
     {
-        this.bold = bold;
+        this.checkFrozen();
+        this.style = this.style.withBold(bold);
     }
 
     /**
@@ -363,21 +537,23 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public Boolean isBoldRaw()
     {
-        return this.bold;
+        return this.style.isBold();
     }
 
     /**
-     * Check if this node use italic style, it will check value of this node and parent nodes.
+     * Check if this node use italic style, it will check value of this node and parent nodes. <br>
+     * Frozen nodes don't have parent, so only own value is checked.
      *
      * @return true if this node use italic style.
      */
     public boolean isItalic()
     {
-        if (this.italic == null)
+        final Boolean italic = this.style.isItalic();
+        if (italic == null)
         {
             return (this.parent != null) && (this.parent.isItalic());
         }
-        return this.italic;
+        return italic;
     }
 
     /**
@@ -387,7 +563,8 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public void setItalic(final Boolean italic)
     {
-        this.italic = italic;
+        this.checkFrozen();
+        this.style = this.style.withItalic(italic);
     }
 
     /**
@@ -398,21 +575,23 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public Boolean isItalicRaw()
     {
-        return this.italic;
+        return this.style.isItalic();
     }
 
     /**
-     * Check if this node use underlined style, it will check value of this node and parent nodes.
+     * Check if this node use underlined style, it will check value of this node and parent nodes. <br>
+     * Frozen nodes don't have parent, so only own value is checked.
      *
      * @return true if this node use underlined style.
      */
     public boolean isUnderlined()
     {
-        if (this.underlined == null)
+        final Boolean underlined = this.style.isUnderlined();
+        if (underlined == null)
         {
             return (this.parent != null) && (this.parent.isUnderlined());
         }
-        return this.underlined;
+        return underlined;
     }
 
     /**
@@ -422,7 +601,8 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public void setUnderlined(final Boolean underlined)
     {
-        this.underlined = underlined;
+        this.checkFrozen();
+        this.style = this.style.withUnderlined(underlined);
     }
 
     /**
@@ -433,21 +613,23 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public Boolean isUnderlinedRaw()
     {
-        return this.underlined;
+        return this.style.isUnderlined();
     }
 
     /**
-     * Check if this node use strikethrough style, it will check value of this node and parent nodes.
+     * Check if this node use strikethrough style, it will check value of this node and parent nodes. <br>
+     * Frozen nodes don't have parent, so only own value is checked.
      *
      * @return true if this node use strikethrough style.
      */
     public boolean isStrikethrough()
     {
-        if (this.strikethrough == null)
+        final Boolean strikethrough = this.style.isStrikethrough();
+        if (strikethrough == null)
         {
             return (this.parent != null) && (this.parent.isStrikethrough());
         }
-        return this.strikethrough;
+        return strikethrough;
     }
 
     /**
@@ -457,7 +639,8 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public void setStrikethrough(final Boolean strikethrough)
     {
-        this.strikethrough = strikethrough;
+        this.checkFrozen();
+        this.style = this.style.withStrikethrough(strikethrough);
     }
 
     /**
@@ -468,21 +651,23 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public Boolean isStrikethroughRaw()
     {
-        return this.strikethrough;
+        return this.style.isStrikethrough();
     }
 
     /**
-     * Check if this node use obfuscated style, it will check value of this node and parent nodes.
+     * Check if this node use obfuscated style, it will check value of this node and parent nodes. <br>
+     * Frozen nodes don't have parent, so only own value is checked.
      *
      * @return true if this node use obfuscated style.
      */
     public boolean isObfuscated()
     {
-        if (this.obfuscated == null)
+        final Boolean obfuscated = this.style.isObfuscated();
+        if (obfuscated == null)
         {
             return (this.parent != null) && (this.parent.isObfuscated());
         }
-        return this.obfuscated;
+        return obfuscated;
     }
 
     /**
@@ -492,7 +677,8 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public void setObfuscated(final Boolean obfuscated)
     {
-        this.obfuscated = obfuscated;
+        this.checkFrozen();
+        this.style = this.style.withObfuscated(obfuscated);
     }
 
     /**
@@ -503,7 +689,7 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public Boolean isObfuscatedRaw()
     {
-        return this.obfuscated;
+        return this.style.isObfuscated();
     }
 
     /**
@@ -517,17 +703,22 @@ public abstract class BaseComponent extends ReplacableComponent
     }
 
     /**
-     * Add new {@link BaseComponent} to this node.
+     * Add new {@link BaseComponent} to this node. <br>
+     * Frozen component is shared and stays without parent.
      *
      * @param component new component to add.
      */
     public void addExtra(final BaseComponent component)
     {
+        this.checkFrozen();
         if (this.extra == null)
         {
             this.extra = new ArrayList<>(5);
         }
-        component.parent = this;
+        if (! component.frozen)
+        {
+            component.parent = this;
+        }
         this.extra.add(component);
     }
 
@@ -538,55 +729,193 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     public boolean hasFormatting()
     {
-        return (this.color != null) || (this.bold != null) || (this.italic != null) || (this.underlined != null) || (this.strikethrough != null) || (this.obfuscated != null) || (this.hoverEvent != null) || (this.clickEvent != null);
+        return (this.style != Style.EMPTY) || (this.hoverEvent != null) || (this.clickEvent != null);
     }
 
     /**
-     * Returns string contains this component as plain text. (without style)
+     * Returns string contains this component as plain text. (without style) <br>
+     * Text is remembered by frozen components.
      *
      * @return string contains this component as plain text. (without style)
      */
     public String toPlainText()
     {
-        final StringBuilder builder = new StringBuilder();
+        if (! this.frozen)
+        {
+            return this.buildPlainText();
+        }
+        final DerivedTexts derivedTexts = this.getDerivedTexts();
+        String plainText = derivedTexts.plainText;
+        if (plainText == null)
+        {
+            plainText = this.buildPlainText();
+            derivedTexts.plainText = plainText;
+        }
+        return plainText;
+    }
+
+    private String buildPlainText()
+    {
+        final StringBuilder builder = new StringBuilder(this.getLengthHint());
         this.toPlainText(builder);
         return builder.toString();
     }
 
+    /**
+     * Append plain text of this component to given builder, frozen components append own remembered text.
+     *
+     * @param builder string builder to be used.
+     */
+    void appendPlainText(final StringBuilder builder)
+    {
+        if (this.frozen)
+        {
+            builder.append(this.toPlainText());
+        }
+        else
+        {
+            this.toPlainText(builder);
+        }
+    }
+
     void toPlainText(final StringBuilder builder)
     {
         if (this.extra != null)
         {
             for (final BaseComponent e : this.extra)
             {
-                e.toPlainText(builder);
+                e.appendPlainText(builder);
             }
         }
     }
 
     /**
-     * Returns string contains this component as legacy text. (without events etc, but with colors)
+     * Returns string contains this component as legacy text. (without events etc, but with colors) <br>
+     * Style inherited from parents is passed down while building text, frozen components remember last text together with inherited style used to build it.
      *
      * @return string contains this component as legacy text. (without events etc, but with colors)
      */
     public String toLegacyText()
     {
-        final StringBuilder builder = new StringBuilder();
-        this.toLegacyText(builder);
+        return this.toLegacyText(this.getInheritedStyle());
+    }
+
+    /**
+     * Returns string contains this component as legacy text, using given style inherited from parents.
+     *
+     * @param inherited style inherited from parents of this component.
+     *
+     * @return string contains this component as legacy text.
+     */
+    String toLegacyText(final Style inherited)
+    {
+        if (! this.frozen)
+        {
+            return this.buildLegacyText(inherited);
+        }
+        final DerivedTexts derivedTexts = this.getDerivedTexts();
+        final LegacyText legacyText = derivedTexts.legacyText;
+        if ((legacyText != null) && (legacyText.inherited == inherited))
+        {
+            return legacyText.text;
+        }
+        final String text = this.buildLegacyText(inherited);
+        derivedTexts.legacyText = new LegacyText(inherited, text);
+        return text;
+    }
+
+    private String buildLegacyText(final Style inherited)
+    {
+        final StringBuilder builder = new StringBuilder(this.getLengthHint() + 16);
+        this.toLegacyText(builder, inherited);
         return builder.toString();
     }
 
-    void toLegacyText(final StringBuilder builder)
+    /**
+     * Append legacy text of this component to given builder, frozen components append own remembered text if possible.
+     *
+     * @param builder   string builder to be used.
+     * @param inherited style inherited from parents of this component.
+     */
+    void appendLegacyText(final StringBuilder builder, final Style inherited)
+    {
+        if (this.frozen)
+        {
+            builder.append(this.toLegacyText(inherited));
+        }
+        else
+        {
+            this.toLegacyText(builder, inherited);
+        }
+    }
+
+    void toLegacyText(final StringBuilder builder, final Style inherited)
     {
         if (this.extra != null)
         {
+            final Style style = this.style.inherit(inherited);
             for (final BaseComponent e : this.extra)
             {
-                e.toLegacyText(builder);
+                e.appendLegacyText(builder, style);
             }
         }
     }
 
+    /**
+     * Returns length of own text of this component, without extra elements.
+     *
+     * @return length of own text of this component.
+     */
+    int getTextLength()
+    {
+        return 0;
+    }
+
+    /**
+     * Returns expected length of plain text of this component, used to size string builders.
+     *
+     * @return expected length of plain text.
+     */
+    int getLengthHint()
+    {
+        final DerivedTexts derivedTexts = this.derivedTexts;
+        if ((derivedTexts != null) && (derivedTexts.plainText != null))
+        {
+            return derivedTexts.plainText.length();
+        }
+        int length = this.getTextLength();
+        if (this.extra != null)
+        {
+            for (final BaseComponent e : this.extra)
+            {
+                length += e.getLengthHint();
+            }
+        }
+        return length;
+    }
+
+    // style of parent nodes, closer parents override values of further ones.
+    private Style getInheritedStyle()
+    {
+        Style inherited = Style.EMPTY;
+        for (BaseComponent component = this.parent; component != null; component = component.parent)
+        {
+            inherited = inherited.inherit(component.style);
+        }
+        return inherited;
+    }
+
+    private DerivedTexts getDerivedTexts()
+    {
+        DerivedTexts derivedTexts = this.derivedTexts;
+        if (derivedTexts == null)
+        {
+            derivedTexts = new DerivedTexts();
+            this.derivedTexts = derivedTexts;
+        }
+        return derivedTexts;
+    }
+
     /**
      * Adds color codes of this element to given string builder.
      *
@@ -594,28 +923,39 @@ public abstract class BaseComponent extends ReplacableComponent
      */
     protected void addFormat(final StringBuilder builder)
     {
-        final ChatColor color = this.color;
+        this.addFormat(builder, this.style.inherit(this.getInheritedStyle()));
+    }
+
+    /**
+     * Adds color codes of this element to given string builder, using given style with values inherited from parents.
+     *
+     * @param builder string builder to be used.
+     * @param style   style of this element with values inherited from parents.
+     */
+    protected void addFormat(final StringBuilder builder, final Style style)
+    {
+        final ChatColor color = this.style.getColor();
         if (color != null)
         {
             builder.append(color);
         }
-        if (this.isBold())
+        if (Boolean.TRUE.equals(style.isBold()))
         {
             builder.append(ChatColor.BOLD);
         }
-        if (this.isItalic())
+        if (Boolean.TRUE.equals(style.isItalic()))
         {
             builder.append(ChatColor.ITALIC);
         }
-        if (this.isUnderlined())
+        if (Boolean.TRUE.equals(style.isUnderlined()))
         {
             builder.append(ChatColor.UNDERLINE);
         }
-        if (this.isStrikethrough())
+        if (Boolean.TRUE.equals(style.isStrikethrough()))
         {
             builder.append(ChatColor.STRIKETHROUGH);
         }
-        if (this.isObfuscated())
+        if (Boolean.TRUE.equals(style.isObfuscated()))
         {
             builder.append(ChatColor.MAGIC);
         }
@@ -627,7 +967,40 @@ public abstract class BaseComponent extends ReplacableComponent
     @Override
     public String toString()
     {
-        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("parent", this.parent).append("color", this.color).append("bold", this.bold).append("italic", this.italic).append("underlined", this.underlined).append("strikethrough", this.strikethrough).append("obfuscated", this.obfuscated).append("extra", this.extra).append("clickEvent", this.clickEvent).append("hoverEvent", this.hoverEvent).toString();
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("parent", this.parent).append("style", this.style).append("extra", this.extra).append("clickEvent", this.clickEvent).append("hoverEvent", this.hoverEvent).toString();
+    }
+
+    // texts are only computed from frozen components, so concurrent renders may only compute this same values twice
+    private static final class DerivedTexts
+    {
+        private String     plainText;
+        private LegacyText legacyText;
+        private Boolean    canBeLegacy;
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("plainText", this.plainText).append("legacyText", this.legacyText).append("canBeLegacy", this.canBeLegacy).toString();
+        }
+    }
+
+    // legacy text depends on inherited style, so it is remembered together with it, immutable so it is always read as a whole
+    private static final class LegacyText
+    {
+        private final Style  inherited;
+        private final String text;
+
+        private LegacyText(final Style inherited, final String text)
+        {
+            this.inherited = inherited;
+            this.text = text;
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("inherited", this.inherited).append("text", this.text).toString();
+        }
     }
 
     /**
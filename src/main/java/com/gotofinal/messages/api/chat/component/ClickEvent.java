@@ -85,6 +85,18 @@ public class ClickEvent extends ReplacableComponent
         return limit;
     }
 
+    @Override
+    protected boolean replaceAll_(final MultiReplacer replacer)
+    {
+        final String value = replacer.replace(this.value);
+        if (value == this.value)
+        {
+            return false;
+        }
+        this.value = value;
+        return true;
+    }
+
     /**
      * Returns click action of this event.
      *
@@ -105,6 +117,13 @@ public class ClickEvent extends ReplacableComponent
         return this.value;
     }
 
+    @Override
+    public ClickEvent freeze()
+    {
+        this.frozen = true;
+        return this;
+    }
+
     @Override
     public ClickEvent duplicate()
     {
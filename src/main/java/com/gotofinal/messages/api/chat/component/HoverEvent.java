@@ -58,9 +58,9 @@ public class HoverEvent extends ReplacableComponent
     {
         if (this.value != null)
         {
-            for (final BaseComponent bs : this.value)
+            for (int i = 0; i < this.value.length; i++)
             {
-                limit = bs.replace_(text, component, limit);
+                limit = this.editable(i).replace_(text, component, limit);
                 if (limit == 0)
                 {
                     return 0;
@@ -75,9 +75,9 @@ public class HoverEvent extends ReplacableComponent
     {
         if (this.value != null)
         {
-            for (final BaseComponent bs : this.value)
+            for (int i = 0; i < this.value.length; i++)
             {
-                limit = bs.replace_(text, repl, limit);
+                limit = this.editable(i).replace_(text, repl, limit);
                 if (limit == 0)
                 {
                     return 0;
@@ -87,6 +87,44 @@ public class HoverEvent extends ReplacableComponent
         return limit;
     }
 
+    @Override
+    protected boolean replaceAll_(final MultiReplacer replacer)
+    {
+        boolean replaced = false;
+        if (this.value != null)
+        {
+            for (int i = 0; i < this.value.length; i++)
+            {
+                replaced |= this.editable(i).replaceAll_(replacer);
+            }
+        }
+        return replaced;
+    }
+
+    private BaseComponent editable(final int index)
+    {
+        final BaseComponent component = this.value[index];
+        if (! component.frozen)
+        {
+            return component;
+        }
+        return this.value[index] = component.copy(true);
+    }
+
+    @Override
+    public HoverEvent freeze()
+    {
+        if (! this.frozen && (this.value != null))
+        {
+            for (final BaseComponent component : this.value)
+            {
+                component.freeze();
+            }
+        }
+        this.frozen = true;
+        return this;
+    }
+
     /**
      * Returns click action of this event.
      *
@@ -109,6 +147,18 @@ public class HoverEvent extends ReplacableComponent
 
     @Override
     public HoverEvent duplicate()
+    {
+        return this.copy(false);
+    }
+
+    /**
+     * Returns editable copy of this event.
+     *
+     * @param shareFrozen if frozen values should be shared instead of copied.
+     *
+     * @return editable copy of this event.
+     */
+    HoverEvent copy(final boolean shareFrozen)
     {
         if (this.value == null)
         {
@@ -117,7 +167,7 @@ public class HoverEvent extends ReplacableComponent
         final BaseComponent[] valueCpy = new BaseComponent[this.value.length];
         for (int i = 0; i < this.value.length; i++)
         {
-            valueCpy[i] = this.value[i].duplicate();
+            valueCpy[i] = (shareFrozen && this.value[i].frozen) ? this.value[i] : this.value[i].copy(shareFrozen);
         }
         return new HoverEvent(this.action, valueCpy);
     }
@@ -0,0 +1,261 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.chat.component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Replace engine used to replace many strings at once, all keys are stored in single prefix tree, so every string is scanned only once
+ * no matter how many keys are used. <br>
+ * Values may be {@link String} or {@link BaseComponent}, other objects are changed to string by {@link Object#toString()} method. <br>
+ * At each position longest matching key is used, and replaced text is never scanned again.
+ *
+ * @see ReplacableComponent#replaceAll(Map)
+ */
+public final class MultiReplacer
+{
+    private final Node     root;
+    private final Object[] values;
+
+    /**
+     * Construct new replace engine for given map of strings to find and replacements.
+     *
+     * @param replacements map of strings to find and objects to use instead of them.
+     */
+    public MultiReplacer(final Map<String, ?> replacements)
+    {
+        final BuildNode root = new BuildNode();
+        this.values = new Object[replacements.size()];
+        int i = 0;
+        for (final Entry<String, ?> entry : replacements.entrySet())
+        {
+            final String key = entry.getKey();
+            if ((key == null) || key.isEmpty())
+            {
+                continue;
+            }
+            final Object value = entry.getValue();
+            this.values[i] = ((value instanceof BaseComponent) || (value instanceof String)) ? value : String.valueOf(value);
+            BuildNode node = root;
+            for (int j = 0, length = key.length(); j < length; j++)
+            {
+                node = node.children.computeIfAbsent(key.charAt(j), c -> new BuildNode());
+            }
+            node.value = i++;
+        }
+        this.root = root.build();
+    }
+
+    /**
+     * Returns true if this engine don't contains any keys.
+     *
+     * @return true if this engine don't contains any keys.
+     */
+    public boolean isEmpty()
+    {
+        return this.root.chars.length == 0;
+    }
+
+    /**
+     * Replace all keys in given string, components are changed to legacy text. {@link BaseComponent#toLegacyText()}
+     *
+     * @param str string to use.
+     *
+     * @return string with replaced keys, or this same string if there wasn't anything to replace.
+     */
+    public String replace(final String str)
+    {
+        if ((str == null) || this.isEmpty())
+        {
+            return str;
+        }
+        StringBuilder builder = null;
+        int last = 0;
+        for (int i = 0, length = str.length(); i < length; )
+        {
+            final long match = this.match(str, i);
+            if (match == - 1)
+            {
+                i++;
+                continue;
+            }
+            final int end = (int) (match >>> 32);
+            if (builder == null)
+            {
+                builder = new StringBuilder(str.length() + 16);
+            }
+            builder.append(str, last, i);
+            final Object value = this.values[(int) match];
+            builder.append((value instanceof BaseComponent) ? ((BaseComponent) value).toLegacyText() : value);
+            last = i = end;
+        }
+        if (builder == null)
+        {
+            return str;
+        }
+        builder.append(str, last, str.length());
+        return builder.toString();
+    }
+
+    /**
+     * Split given string on keys replaced by components, strings between components are already replaced. <br>
+     * Returns null if there wasn't anything to replace, otherwise list of strings and components, starting and ending with string.
+     *
+     * @param str string to use.
+     *
+     * @return list of strings and components or null.
+     */
+    List<Object> split(final String str)
+    {
+        if ((str == null) || this.isEmpty())
+        {
+            return null;
+        }
+        List<Object> result = null;
+        StringBuilder builder = null;
+        int last = 0;
+        for (int i = 0, length = str.length(); i < length; )
+        {
+            final long match = this.match(str, i);
+            if (match == - 1)
+            {
+                i++;
+                continue;
+            }
+            final int end = (int) (match >>> 32);
+            if (builder == null)
+            {
+                builder = new StringBuilder(str.length() + 16);
+                result = new ArrayList<>(3);
+            }
+            builder.append(str, last, i);
+            final Object value = this.values[(int) match];
+            if (value instanceof BaseComponent)
+            {
+                result.add(builder.toString());
+                result.add(value);
+                builder.setLength(0);
+            }
+            else
+            {
+                builder.append(value);
+            }
+            last = i = end;
+        }
+        if (builder == null)
+        {
+            return null;
+        }
+        builder.append(str, last, str.length());
+        result.add(builder.toString());
+        return result;
+    }
+
+    /**
+     * Find longest key starting at given index.
+     *
+     * @param str   string to search in.
+     * @param start index of first char.
+     *
+     * @return -1 if there is no matching key, otherwise end index of key in upper 32 bits and index of value in lower 32 bits.
+     */
+    private long match(final String str, final int start)
+    {
+        long result = - 1;
+        Node node = this.root;
+        for (int i = start, length = str.length(); i < length; i++)
+        {
+            node = node.next(str.charAt(i));
+            if (node == null)
+            {
+                break;
+            }
+            if (node.value != - 1)
+            {
+                result = (((long) (i + 1)) << 32) | node.value;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("values", this.values).toString();
+    }
+
+    private static final class Node
+    {
+        private final char[] chars;
+        private final Node[] nodes;
+        private final int    value;
+
+        private Node(final char[] chars, final Node[] nodes, final int value)
+        {
+            this.chars = chars;
+            this.nodes = nodes;
+            this.value = value;
+        }
+
+        private Node next(final char c)
+        {
+            final char[] chars = this.chars;
+            for (int i = 0; i < chars.length; i++)
+            {
+                if (chars[i] == c)
+                {
+                    return this.nodes[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class BuildNode
+    {
+        private final Map<Character, BuildNode> children = new TreeMap<>();
+        private       int                       value    = - 1;
+
+        private Node build()
+        {
+            final char[] chars = new char[this.children.size()];
+            final Node[] nodes = new Node[this.children.size()];
+            int i = 0;
+            for (final Entry<Character, BuildNode> entry : this.children.entrySet())
+            {
+                chars[i] = entry.getKey();
+                nodes[i++] = entry.getValue().build();
+            }
+            return new Node(chars, nodes, this.value);
+        }
+    }
+}
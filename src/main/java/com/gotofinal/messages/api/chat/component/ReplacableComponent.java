@@ -24,11 +24,56 @@
 
 package com.gotofinal.messages.api.chat.component;
 
+import java.util.Map;
+
 /**
- * Class used extended by chat components supporting replace methods.
+ * Class used extended by chat components supporting replace methods. <br>
+ * Element can be frozen by {@link #freeze()}, frozen elements can't be changed, so they can be safely shared between many component trees,
+ * like static parts of message used in every rendered copy of it. <br>
+ * Frozen children are shared only by internal copies of components, editable parents use copy-on-write for them, so replace methods called on parent
+ * copy only these frozen children that they visit. Copies returned by {@link #duplicate()} never contain frozen elements.
  */
 public abstract class ReplacableComponent
 {
+    /**
+     * If this element is frozen, frozen elements can't be changed.
+     */
+    protected boolean frozen;
+
+    /**
+     * Returns true if this element is frozen and can't be changed.
+     *
+     * @return true if this element is frozen and can't be changed.
+     */
+    public boolean isFrozen()
+    {
+        return this.frozen;
+    }
+
+    /**
+     * Freeze this element and all its children, after that element can't be changed, and {@link #duplicate()} must be used to get editable copy. <br>
+     * Frozen element isn't attached to any parent, as it may be shared by many trees.
+     *
+     * @return this same element.
+     */
+    public ReplacableComponent freeze()
+    {
+        this.frozen = true;
+        return this;
+    }
+
+    /**
+     * Throws exception if this element is frozen.
+     *
+     * @throws IllegalStateException if this element is frozen.
+     */
+    protected void checkFrozen()
+    {
+        if (this.frozen)
+        {
+            throw new IllegalStateException("Can't change frozen component, use duplicate() to get editable copy.");
+        }
+    }
 
     /**
      * Replace for chat components, it will replace given string in any component with given {@link BaseComponent}.
@@ -41,6 +86,7 @@ public abstract class ReplacableComponent
      */
     public int replace(final String text, final BaseComponent component, final int limit)
     {
+        this.checkFrozen();
         return this.replace_(text, component, limit);
     }
 
@@ -92,6 +138,7 @@ public abstract class ReplacableComponent
      */
     public int replace(final String text, final String repl, final int limit)
     {
+        this.checkFrozen();
         return this.replace_(text, repl, limit);
     }
 
@@ -133,7 +180,45 @@ public abstract class ReplacableComponent
     }
 
     /**
-     * Returns copy of this chat component element.
+     * Replace many strings at once, every string in this component is scanned only once no matter how many keys are given. <br>
+     * Values may be {@link String} or {@link BaseComponent}, other objects are changed to string by {@link Object#toString()} method.
+     *
+     * @param replacements map of strings to find and objects to use instead of them.
+     *
+     * @return if any string was replaced.
+     *
+     * @see MultiReplacer
+     */
+    public boolean replaceAll(final Map<String, ?> replacements)
+    {
+        return this.replaceAll(new MultiReplacer(replacements));
+    }
+
+    /**
+     * Replace many strings at once using given replace engine, every string in this component is scanned only once no matter how many keys are used. <br>
+     * Replace engine can be reused for many components.
+     *
+     * @param replacer replace engine to use.
+     *
+     * @return if any string was replaced.
+     */
+    public boolean replaceAll(final MultiReplacer replacer)
+    {
+        this.checkFrozen();
+        return ! replacer.isEmpty() && this.replaceAll_(replacer);
+    }
+
+    /**
+     * Replace many strings at once using given replace engine.
+     *
+     * @param replacer replace engine to use.
+     *
+     * @return if any string was replaced.
+     */
+    protected abstract boolean replaceAll_(final MultiReplacer replacer);
+
+    /**
+     * Returns deep copy of this chat component element, copy and all its children are never frozen.
      *
      * @return copy of this chat component element.
      */
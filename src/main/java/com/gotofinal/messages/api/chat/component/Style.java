@@ -0,0 +1,351 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.chat.component;
+
+import com.gotofinal.messages.api.chat.ChatColor;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Immutable style of {@link BaseComponent}: color and bold, italic, underlined, strikethrough and obfuscated flags. <br>
+ * Style is packed to single int, each flag uses 2 bits (0 - not set/inherited, 1 - false, 2 - true), and color uses 5 bits after flags
+ * (0 - not set, or ordinal of color + 1). <br>
+ * All styles are interned, so equal styles are always this same object and may be compared by identity. <br>
+ * Every valid style is created when class is loaded, so interning don't need any synchronization.
+ */
+public final class Style
+{
+    private static final int         FLAGS_BITS    = 10;
+    private static final int         COLOR_BITS    = 5;
+    private static final int         FLAGS_LOW     = 0x155; // lower bit of each flag
+    private static final int         BOLD          = 0;
+    private static final int         ITALIC        = 2;
+    private static final int         UNDERLINED    = 4;
+    private static final int         STRIKETHROUGH = 6;
+    private static final int         OBFUSCATED    = 8;
+    private static final ChatColor[] colors        = ChatColor.values();
+    private static final Style[]     styles        = new Style[1 << (FLAGS_BITS + COLOR_BITS)];
+
+    static
+    {
+        for (int packed = 0; packed < styles.length; packed++)
+        {
+            if (isValid(packed))
+            {
+                styles[packed] = new Style(packed);
+            }
+        }
+    }
+
+    /**
+     * Style without color and flags, used by default by all components.
+     */
+    public static final Style EMPTY = valueOf(0);
+
+    private final int packed;
+
+    private Style(final int packed)
+    {
+        this.packed = packed;
+    }
+
+    /**
+     * Returns interned style for given packed value.
+     *
+     * @param packed packed style, see {@link #getPacked()}.
+     *
+     * @return interned style.
+     *
+     * @throws IllegalArgumentException if given value isn't valid packed style.
+     */
+    public static Style valueOf(final int packed)
+    {
+        if ((packed < 0) || (packed >= styles.length) || (styles[packed] == null))
+        {
+            throw new IllegalArgumentException("Invalid packed style: " + packed);
+        }
+        return styles[packed];
+    }
+
+    /**
+     * Returns interned style with given color and flags, each may be null if not set.
+     *
+     * @param color         color of style.
+     * @param bold          bold flag.
+     * @param italic        italic flag.
+     * @param underlined    underlined flag.
+     * @param strikethrough strikethrough flag.
+     * @param obfuscated    obfuscated flag.
+     *
+     * @return interned style.
+     */
+    public static Style of(final ChatColor color, final Boolean bold, final Boolean italic, final Boolean underlined, final Boolean strikethrough, final Boolean obfuscated)
+    {
+        return valueOf(packColor(color) | packFlag(bold, BOLD) | packFlag(italic, ITALIC) | packFlag(underlined, UNDERLINED) | packFlag(strikethrough, STRIKETHROUGH) | packFlag(obfuscated, OBFUSCATED));
+    }
+
+    /**
+     * Returns packed value of this style.
+     *
+     * @return packed value of this style.
+     */
+    public int getPacked()
+    {
+        return this.packed;
+    }
+
+    /**
+     * Returns true if this style don't set color or any flag.
+     *
+     * @return true if this style don't set color or any flag.
+     */
+    public boolean isEmpty()
+    {
+        return this.packed == 0;
+    }
+
+    /**
+     * Returns color of this style, may be null.
+     *
+     * @return color of this style, may be null.
+     */
+    public ChatColor getColor()
+    {
+        final int color = this.packed >>> FLAGS_BITS;
+        return (color == 0) ? null : colors[color - 1];
+    }
+
+    /**
+     * Returns bold flag of this style, may be null.
+     *
+     * @return bold flag of this style, may be null.
+     */
+    public Boolean isBold()
+    {
+        return this.getFlag(BOLD);
+    }
+
+    /**
+     * Returns italic flag of this style, may be null.
+     *
+     * @return italic flag of this style, may be null.
+     */
+    public Boolean isItalic()
+    {
+        return this.getFlag(ITALIC);
+    }
+
+    /**
+     * Returns underlined flag of this style, may be null.
+     *
+     * @return underlined flag of this style, may be null.
+     */
+    public Boolean isUnderlined()
+    {
+        return this.getFlag(UNDERLINED);
+    }
+
+    /**
+     * Returns strikethrough flag of this style, may be null.
+     *
+     * @return strikethrough flag of this style, may be null.
+     */
+    public Boolean isStrikethrough()
+    {
+        return this.getFlag(STRIKETHROUGH);
+    }
+
+    /**
+     * Returns obfuscated flag of this style, may be null.
+     *
+     * @return obfuscated flag of this style, may be null.
+     */
+    public Boolean isObfuscated()
+    {
+        return this.getFlag(OBFUSCATED);
+    }
+
+    /**
+     * Returns style with given color and flags of this style.
+     *
+     * @param color new color, may be null.
+     *
+     * @return interned style.
+     */
+    public Style withColor(final ChatColor color)
+    {
+        return valueOf((this.packed & ((1 << FLAGS_BITS) - 1)) | packColor(color));
+    }
+
+    /**
+     * Returns style with given bold flag and rest of this style.
+     *
+     * @param bold new bold flag, may be null.
+     *
+     * @return interned style.
+     */
+    public Style withBold(final Boolean bold)
+    {
+        return this.withFlag(bold, BOLD);
+    }
+
+    /**
+     * Returns style with given italic flag and rest of this style.
+     *
+     * @param italic new italic flag, may be null.
+     *
+     * @return interned style.
+     */
+    public Style withItalic(final Boolean italic)
+    {
+        return this.withFlag(italic, ITALIC);
+    }
+
+    /**
+     * Returns style with given underlined flag and rest of this style.
+     *
+     * @param underlined new underlined flag, may be null.
+     *
+     * @return interned style.
+     */
+    public Style withUnderlined(final Boolean underlined)
+    {
+        return this.withFlag(underlined, UNDERLINED);
+    }
+
+    /**
+     * Returns style with given strikethrough flag and rest of this style.
+     *
+     * @param strikethrough new strikethrough flag, may be null.
+     *
+     * @return interned style.
+     */
+    public Style withStrikethrough(final Boolean strikethrough)
+    {
+        return this.withFlag(strikethrough, STRIKETHROUGH);
+    }
+
+    /**
+     * Returns style with given obfuscated flag and rest of this style.
+     *
+     * @param obfuscated new obfuscated flag, may be null.
+     *
+     * @return interned style.
+     */
+    public Style withObfuscated(final Boolean obfuscated)
+    {
+        return this.withFlag(obfuscated, OBFUSCATED);
+    }
+
+    /**
+     * Returns style that uses color and flags of this style, and values from given parent style for all values not set here.
+     *
+     * @param parent style of parent component.
+     *
+     * @return interned style.
+     */
+    public Style inherit(final Style parent)
+    {
+        return valueOf(this.packed | (parent.packed & ~ fieldsMask(this.packed)));
+    }
+
+    /**
+     * Returns style with only these values of this style that are different than values of given inherited style,
+     * so values that would be inherited anyway are removed.
+     *
+     * @param inherited style inherited from parent components.
+     *
+     * @return interned style.
+     */
+    public Style relativeTo(final Style inherited)
+    {
+        return valueOf(this.packed & fieldsMask(this.packed ^ inherited.packed));
+    }
+
+    // color must be existing color or 0, and no flag may use both bits.
+    private static boolean isValid(final int packed)
+    {
+        return ((packed >>> FLAGS_BITS) <= colors.length) && ((packed & (packed >>> 1) & FLAGS_LOW) == 0);
+    }
+
+    private Boolean getFlag(final int shift)
+    {
+        switch ((this.packed >>> shift) & 3)
+        {
+            case 1:
+                return Boolean.FALSE;
+            case 2:
+                return Boolean.TRUE;
+            default:
+                return null;
+        }
+    }
+
+    private Style withFlag(final Boolean flag, final int shift)
+    {
+        return valueOf((this.packed & ~ (3 << shift)) | packFlag(flag, shift));
+    }
+
+    private static int packFlag(final Boolean flag, final int shift)
+    {
+        if (flag == null)
+        {
+            return 0;
+        }
+        return (flag ? 2 : 1) << shift;
+    }
+
+    private static int packColor(final ChatColor color)
+    {
+        return (color == null) ? 0 : ((color.ordinal() + 1) << FLAGS_BITS);
+    }
+
+    // mask with all bits of each field that have any bit set in given value.
+    private static int fieldsMask(final int packed)
+    {
+        final int flags = (packed | (packed >>> 1)) & FLAGS_LOW;
+        final int color = ((packed >>> FLAGS_BITS) == 0) ? 0 : (((1 << COLOR_BITS) - 1) << FLAGS_BITS);
+        return (flags * 3) | color;
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+        return (this == o) || ((o instanceof Style) && (this.packed == ((Style) o).packed));
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.packed;
+    }
+
+    @Override
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("color", this.getColor()).append("bold", this.isBold()).append("italic", this.isItalic()).append("underlined", this.isUnderlined()).append("strikethrough", this.isStrikethrough()).append("obfuscated", this.isObfuscated()).toString();
+    }
+}
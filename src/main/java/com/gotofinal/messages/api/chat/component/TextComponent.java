@@ -26,6 +26,7 @@ package com.gotofinal.messages.api.chat.component;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -59,7 +60,18 @@ public class TextComponent extends BaseComponent
      */
     public TextComponent(final TextComponent textComponent)
     {
-        super(textComponent);
+        this(textComponent, false);
+    }
+
+    /**
+     * Construct new TextComponent as copy of given one.
+     *
+     * @param textComponent component to copy.
+     * @param shareFrozen   if frozen children of given component should be shared instead of copied.
+     */
+    TextComponent(final TextComponent textComponent, final boolean shareFrozen)
+    {
+        super(textComponent, shareFrozen);
         this.text = textComponent.getText();
     }
 
@@ -110,6 +122,7 @@ public class TextComponent extends BaseComponent
      */
     public void setText(final String text)
     {
+        this.checkFrozen();
         this.text = text;
     }
 
@@ -125,12 +138,12 @@ public class TextComponent extends BaseComponent
             this.text = pre;
             if (this.extra != null)
             {
-                this.extra.addAll(0, Arrays.asList(component.duplicate(), new TextComponent(post)));
+                this.extra.addAll(0, Arrays.asList(this.adopt(component, false), new TextComponent(post)));
             }
             else
             {
                 this.extra = new ArrayList<>(2);
-                this.extra.add(component.duplicate());
+                this.extra.add(this.adopt(component, false));
                 this.extra.add(new TextComponent(post));
             }
             if (-- limit == 0)
@@ -157,6 +170,52 @@ public class TextComponent extends BaseComponent
         return super.replace_(text, repl, limit);
     }
 
+    @Override
+    protected boolean replaceAll_(final MultiReplacer replacer)
+    {
+        final List<Object> parts = replacer.split(this.text);
+        if (parts == null)
+        {
+            return super.replaceAll_(replacer);
+        }
+        this.text = (String) parts.get(0);
+        super.replaceAll_(replacer);
+        if (parts.size() == 1)
+        {
+            return true;
+        }
+        final List<BaseComponent> inserted = new ArrayList<>(parts.size() - 1);
+        for (int i = 1, size = parts.size(); i < size; i++)
+        {
+            final Object part = parts.get(i);
+            if (part instanceof BaseComponent)
+            {
+                inserted.add(this.adopt((BaseComponent) part, false));
+            }
+            else if (! ((String) part).isEmpty())
+            {
+                final BaseComponent component = new TextComponent((String) part);
+                component.parent = this;
+                inserted.add(component);
+            }
+        }
+        if (this.extra == null)
+        {
+            this.extra = inserted;
+        }
+        else
+        {
+            this.extra.addAll(0, inserted);
+        }
+        return true;
+    }
+
+    @Override
+    int getTextLength()
+    {
+        return (this.text == null) ? 0 : this.text.length();
+    }
+
     @Override
     protected void toPlainText(final StringBuilder builder)
     {
@@ -165,14 +224,14 @@ public class TextComponent extends BaseComponent
     }
 
     @Override
-    protected void toLegacyText(final StringBuilder builder)
+    protected void toLegacyText(final StringBuilder builder, final Style inherited)
     {
-        this.addFormat(builder);
+        this.addFormat(builder, this.style.inherit(inherited));
         if (this.text != null)
         {
             builder.append(this.text);
         }
-        super.toLegacyText(builder);
+        super.toLegacyText(builder, inherited);
     }
 
     @Override
@@ -181,6 +240,12 @@ public class TextComponent extends BaseComponent
         return new TextComponent(this);
     }
 
+    @Override
+    BaseComponent copy(final boolean shareFrozen)
+    {
+        return new TextComponent(this, shareFrozen);
+    }
+
     @Override
     public String toString()
     {
@@ -25,12 +25,12 @@
 package com.gotofinal.messages.api.chat.component;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -58,9 +58,27 @@ public class TranslatableComponent extends BaseComponent
      */
     public TranslatableComponent(final TranslatableComponent original)
     {
-        super(original);
+        this(original, false);
+    }
+
+    /**
+     * Construct new TranslatableComponent as copy of old one.
+     *
+     * @param original    component to copy.
+     * @param shareFrozen if frozen children of given component should be shared instead of copied.
+     */
+    TranslatableComponent(final TranslatableComponent original, final boolean shareFrozen)
+    {
+        super(original, shareFrozen);
         this.translate = original.getTranslate();
-        this.with.addAll(original.getWith().stream().map(BaseComponent::duplicate).collect(Collectors.toList()));
+        if (original.with != null)
+        {
+            this.with = new ArrayList<>(original.with.size());
+            for (final BaseComponent component : original.with)
+            {
+                this.with.add(this.adopt(component, shareFrozen));
+            }
+        }
     }
 
     /**
@@ -109,9 +127,9 @@ public class TranslatableComponent extends BaseComponent
         }
         if (this.with != null)
         {
-            for (final BaseComponent w : this.with)
+            for (int i = 0, size = this.with.size(); i < size; i++)
             {
-                limit = w.replace_(text, component, limit);
+                limit = this.editable(this.with, i).replace_(text, component, limit);
                 if (limit == 0)
                 {
                     return 0;
@@ -136,9 +154,9 @@ public class TranslatableComponent extends BaseComponent
         }
         if (this.with != null)
         {
-            for (final BaseComponent w : this.with)
+            for (int i = 0, size = this.with.size(); i < size; i++)
             {
-                limit = w.replace_(text, repl, limit);
+                limit = this.editable(this.with, i).replace_(text, repl, limit);
                 if (limit == 0)
                 {
                     return 0;
@@ -148,6 +166,22 @@ public class TranslatableComponent extends BaseComponent
         return super.replace_(text, repl, limit);
     }
 
+    @Override
+    protected boolean replaceAll_(final MultiReplacer replacer)
+    {
+        final String translate = replacer.replace(this.translate);
+        boolean replaced = translate != this.translate;
+        this.translate = translate;
+        if (this.with != null)
+        {
+            for (int i = 0, size = this.with.size(); i < size; i++)
+            {
+                replaced |= this.editable(this.with, i).replaceAll_(replacer);
+            }
+        }
+        return super.replaceAll_(replacer) || replaced;
+    }
+
     /**
      * Returns locales used to represent this component as legacy/plain text.
      *
@@ -185,6 +219,7 @@ public class TranslatableComponent extends BaseComponent
      */
     public void setTranslate(final String translate)
     {
+        this.checkFrozen();
         this.translate = translate;
     }
 
@@ -205,9 +240,13 @@ public class TranslatableComponent extends BaseComponent
      */
     public void setWith(final List<BaseComponent> components)
     {
+        this.checkFrozen();
         for (final BaseComponent component : components)
         {
-            component.setParent(this);
+            if (! component.frozen)
+            {
+                component.setParent(this);
+            }
         }
         this.with = components;
     }
@@ -229,14 +268,24 @@ public class TranslatableComponent extends BaseComponent
      */
     public void addWith(final BaseComponent component)
     {
+        this.checkFrozen();
         if (this.with == null)
         {
             this.with = new ArrayList<>(4);
         }
-        component.setParent(this);
+        if (! component.frozen)
+        {
+            component.setParent(this);
+        }
         this.with.add(component);
     }
 
+    @Override
+    int getTextLength()
+    {
+        return (this.translate == null) ? 0 : this.translate.length();
+    }
+
     @Override
     protected void toPlainText(final StringBuilder builder)
     {
@@ -261,7 +310,7 @@ public class TranslatableComponent extends BaseComponent
                     case 'd':
                     case 's':
                         final String withIndex = matcher.group(1);
-                        this.with.get((withIndex != null) ? (Integer.parseInt(withIndex) - 1) : i++).toPlainText(builder);
+                        this.with.get((withIndex != null) ? (Integer.parseInt(withIndex) - 1) : i++).appendPlainText(builder);
                         break;
                     case '%':
                         builder.append('%');
@@ -281,8 +330,9 @@ public class TranslatableComponent extends BaseComponent
     }
 
     @Override
-    protected void toLegacyText(final StringBuilder builder)
+    protected void toLegacyText(final StringBuilder builder, final Style inherited)
     {
+        final Style style = this.style.inherit(inherited);
         try
         {
             final String trans = locales.getString(this.translate);
@@ -294,7 +344,7 @@ public class TranslatableComponent extends BaseComponent
                 final int pos = matcher.start();
                 if (pos != position)
                 {
-                    this.addFormat(builder);
+                    this.addFormat(builder, style);
                     builder.append(trans.substring(position, pos));
                 }
                 position = matcher.end();
@@ -305,10 +355,10 @@ public class TranslatableComponent extends BaseComponent
                     case 'd':
                     case 's':
                         final String withIndex = matcher.group(1);
-                        this.with.get((withIndex != null) ? (Integer.parseInt(withIndex) - 1) : i++).toLegacyText(builder);
+                        this.with.get((withIndex != null) ? (Integer.parseInt(withIndex) - 1) : i++).appendLegacyText(builder, style);
                         break;
                     case '%':
-                        this.addFormat(builder);
+                        this.addFormat(builder, style);
                         builder.append('%');
                     default:
                         break;
@@ -316,15 +366,29 @@ public class TranslatableComponent extends BaseComponent
             }
             if (trans.length() != position)
             {
-                this.addFormat(builder);
+                this.addFormat(builder, style);
                 builder.append(trans.substring(position, trans.length()));
             }
         } catch (final MissingResourceException e)
         {
-            this.addFormat(builder);
+            this.addFormat(builder, style);
             builder.append(this.translate);
         }
-        super.toLegacyText(builder);
+        super.toLegacyText(builder, inherited);
+    }
+
+    @Override
+    public BaseComponent freeze()
+    {
+        if (! this.frozen && (this.with != null))
+        {
+            for (final BaseComponent component : this.with)
+            {
+                component.freeze();
+            }
+            this.with = Collections.unmodifiableList(this.with);
+        }
+        return super.freeze();
     }
 
     @Override
@@ -333,6 +397,12 @@ public class TranslatableComponent extends BaseComponent
         return new TranslatableComponent(this);
     }
 
+    @Override
+    BaseComponent copy(final boolean shareFrozen)
+    {
+        return new TranslatableComponent(this, shareFrozen);
+    }
+
     @Override
     public String toString()
     {
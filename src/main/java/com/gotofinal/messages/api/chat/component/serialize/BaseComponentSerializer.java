@@ -36,6 +36,7 @@ import com.gotofinal.messages.api.chat.ChatColor;
 import com.gotofinal.messages.api.chat.component.BaseComponent;
 import com.gotofinal.messages.api.chat.component.ClickEvent;
 import com.gotofinal.messages.api.chat.component.HoverEvent;
+import com.gotofinal.messages.api.chat.component.Style;
 
 /**
  * Class used by other chat component serializers to serialize {@link BaseComponent} to json or deserialize from json to base component.
@@ -51,30 +52,13 @@ public interface BaseComponentSerializer
      */
     default void deserialize(final JsonObject object, final BaseComponent component, final JsonDeserializationContext context)
     {
-        if (object.has("color"))
-        {
-            component.setColor(ChatColor.valueOf(object.get("color").getAsString().toUpperCase()));
-        }
-        if (object.has("bold"))
-        {
-            component.setBold(object.get("bold").getAsBoolean());
-        }
-        if (object.has("italic"))
-        {
-            component.setItalic(object.get("italic").getAsBoolean());
-        }
-        if (object.has("underlined"))
-        {
-            component.setUnderlined(object.get("underlined").getAsBoolean());
-        }
-        if (object.has("strikethrough"))
-        {
-            component.setStrikethrough(object.get("strikethrough").getAsBoolean());
-        }
-        if (object.has("obfuscated"))
-        {
-            component.setUnderlined(object.get("obfuscated").getAsBoolean());
-        }
+        final ChatColor color = object.has("color") ? ChatColor.valueOf(object.get("color").getAsString().toUpperCase()) : null;
+        final Boolean bold = object.has("bold") ? object.get("bold").getAsBoolean() : null;
+        final Boolean italic = object.has("italic") ? object.get("italic").getAsBoolean() : null;
+        final Boolean underlined = object.has("underlined") ? object.get("underlined").getAsBoolean() : null;
+        final Boolean strikethrough = object.has("strikethrough") ? object.get("strikethrough").getAsBoolean() : null;
+        final Boolean obfuscated = object.has("obfuscated") ? object.get("obfuscated").getAsBoolean() : null;
+        component.setStyle(Style.of(color, bold, italic, underlined, strikethrough, obfuscated));
         if (object.has("extra"))
         {
             component.setExtra(Arrays.asList(context.<BaseComponent[]>deserialize(object.get("extra"), BaseComponent[].class)));
@@ -120,29 +104,33 @@ public interface BaseComponentSerializer
         {
             Preconditions.checkArgument(! ComponentSerializer.serializedComponents.get().contains(component), "Component loop");
             ComponentSerializer.serializedComponents.get().add(component);
-            if (component.getColorRaw() != null)
-            {
-                object.addProperty("color", component.getColorRaw().getName());
-            }
-            if (component.isBoldRaw() != null)
-            {
-                object.addProperty("bold", component.isBoldRaw());
-            }
-            if (component.isItalicRaw() != null)
-            {
-                object.addProperty("italic", component.isItalicRaw());
-            }
-            if (component.isUnderlinedRaw() != null)
-            {
-                object.addProperty("underlined", component.isUnderlinedRaw());
-            }
-            if (component.isStrikethroughRaw() != null)
-            {
-                object.addProperty("strikethrough", component.isStrikethroughRaw());
-            }
-            if (component.isObfuscatedRaw() != null)
+            final Style style = component.getStyle();
+            if (! style.isEmpty())
             {
-                object.addProperty("obfuscated", component.isObfuscatedRaw());
+                if (style.getColor() != null)
+                {
+                    object.addProperty("color", style.getColor().getName());
+                }
+                if (style.isBold() != null)
+                {
+                    object.addProperty("bold", style.isBold());
+                }
+                if (style.isItalic() != null)
+                {
+                    object.addProperty("italic", style.isItalic());
+                }
+                if (style.isUnderlined() != null)
+                {
+                    object.addProperty("underlined", style.isUnderlined());
+                }
+                if (style.isStrikethrough() != null)
+                {
+                    object.addProperty("strikethrough", style.isStrikethrough());
+                }
+                if (style.isObfuscated() != null)
+                {
+                    object.addProperty("obfuscated", style.isObfuscated());
+                }
             }
 
             if (component.getExtra() != null)
@@ -0,0 +1,275 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.chat.component.serialize;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.gotofinal.messages.api.chat.component.BaseComponent;
+import com.gotofinal.messages.api.chat.component.ClickEvent;
+import com.gotofinal.messages.api.chat.component.HoverEvent;
+import com.gotofinal.messages.api.chat.component.Style;
+import com.gotofinal.messages.api.chat.component.TextComponent;
+import com.gotofinal.messages.api.chat.component.TranslatableComponent;
+
+/**
+ * Compact binary (de)/serializer for chat components, used to store already parsed components without json/legacy parsing on load. <br>
+ * Components of unknown types are stored as json.
+ */
+public final class BinaryComponentSerializer
+{
+    private static final byte NULL         = 0;
+    private static final byte TEXT         = 1;
+    private static final byte TRANSLATABLE = 2;
+    private static final byte JSON         = 3;
+
+    private static final ClickEvent.Action[] clickActions = ClickEvent.Action.values();
+    private static final HoverEvent.Action[] hoverActions = HoverEvent.Action.values();
+
+    private BinaryComponentSerializer()
+    {
+    }
+
+    /**
+     * Write given component to given output.
+     *
+     * @param output    output to use.
+     * @param component component to write, may be null.
+     *
+     * @throws IOException if write fails.
+     */
+    public static void write(final DataOutput output, final BaseComponent component) throws IOException
+    {
+        if (component == null)
+        {
+            output.writeByte(NULL);
+            return;
+        }
+        if (component instanceof TextComponent)
+        {
+            output.writeByte(TEXT);
+            writeString(output, ((TextComponent) component).getText());
+        }
+        else if (component instanceof TranslatableComponent)
+        {
+            final TranslatableComponent translatable = (TranslatableComponent) component;
+            output.writeByte(TRANSLATABLE);
+            writeString(output, translatable.getTranslate());
+            writeList(output, translatable.getWith());
+        }
+        else
+        {
+            output.writeByte(JSON);
+            writeString(output, ComponentSerializer.toString(component));
+            return;
+        }
+        output.writeShort(component.getStyle().getPacked());
+
+        final ClickEvent clickEvent = component.getClickEvent();
+        if (clickEvent == null)
+        {
+            output.writeByte(- 1);
+        }
+        else
+        {
+            output.writeByte(clickEvent.getAction().ordinal());
+            writeString(output, clickEvent.getValue());
+        }
+        final HoverEvent hoverEvent = component.getHoverEvent();
+        if (hoverEvent == null)
+        {
+            output.writeByte(- 1);
+        }
+        else
+        {
+            output.writeByte(hoverEvent.getAction().ordinal());
+            final BaseComponent[] value = hoverEvent.getValue();
+            if (value == null)
+            {
+                output.writeInt(- 1);
+            }
+            else
+            {
+                output.writeInt(value.length);
+                for (final BaseComponent valueComponent : value)
+                {
+                    write(output, valueComponent);
+                }
+            }
+        }
+        writeList(output, component.getExtra());
+    }
+
+    /**
+     * Read component from given input.
+     *
+     * @param input input to use.
+     *
+     * @return read component, may be null.
+     *
+     * @throws IOException if read fails or data is invalid.
+     */
+    public static BaseComponent read(final DataInput input) throws IOException
+    {
+        final byte type = input.readByte();
+        final BaseComponent component;
+        switch (type)
+        {
+            case NULL:
+                return null;
+            case TEXT:
+                component = new TextComponent(readString(input));
+                break;
+            case TRANSLATABLE:
+                final TranslatableComponent translatable = new TranslatableComponent();
+                translatable.setTranslate(readString(input));
+                final List<BaseComponent> with = readList(input);
+                if (with != null)
+                {
+                    translatable.setWith(with);
+                }
+                component = translatable;
+                break;
+            case JSON:
+                return ComponentSerializer.parseOne(readString(input));
+            default:
+                throw new IOException("Unknown component type: " + type);
+        }
+        component.setStyle(readStyle(input));
+
+        final byte clickAction = input.readByte();
+        if (clickAction != - 1)
+        {
+            component.setClickEvent(new ClickEvent(clickActions[clickAction], readString(input)));
+        }
+        final byte hoverAction = input.readByte();
+        if (hoverAction != - 1)
+        {
+            final int length = input.readInt();
+            BaseComponent[] value = null;
+            if (length != - 1)
+            {
+                value = new BaseComponent[length];
+                for (int i = 0; i < length; i++)
+                {
+                    value[i] = read(input);
+                }
+            }
+            component.setHoverEvent(new HoverEvent(hoverActions[hoverAction], value));
+        }
+        final List<BaseComponent> extra = readList(input);
+        if (extra != null)
+        {
+            component.setExtra(extra);
+        }
+        return component;
+    }
+
+    /**
+     * Write given nullable string to given output, unlike {@link DataOutput#writeUTF(String)} it don't have any length limit.
+     *
+     * @param output output to use.
+     * @param str    string to write, may be null.
+     *
+     * @throws IOException if write fails.
+     */
+    public static void writeString(final DataOutput output, final String str) throws IOException
+    {
+        if (str == null)
+        {
+            output.writeInt(- 1);
+            return;
+        }
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Read nullable string written by {@link #writeString(DataOutput, String)}.
+     *
+     * @param input input to use.
+     *
+     * @return read string, may be null.
+     *
+     * @throws IOException if read fails.
+     */
+    public static String readString(final DataInput input) throws IOException
+    {
+        final int length = input.readInt();
+        if (length == - 1)
+        {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeList(final DataOutput output, final List<BaseComponent> components) throws IOException
+    {
+        if (components == null)
+        {
+            output.writeInt(- 1);
+            return;
+        }
+        output.writeInt(components.size());
+        for (final BaseComponent component : components)
+        {
+            write(output, component);
+        }
+    }
+
+    private static List<BaseComponent> readList(final DataInput input) throws IOException
+    {
+        final int size = input.readInt();
+        if (size == - 1)
+        {
+            return null;
+        }
+        final List<BaseComponent> components = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+        {
+            components.add(read(input));
+        }
+        return components;
+    }
+
+    private static Style readStyle(final DataInput input) throws IOException
+    {
+        final int packed = input.readUnsignedShort();
+        try
+        {
+            return Style.valueOf(packed);
+        } catch (final IllegalArgumentException e)
+        {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
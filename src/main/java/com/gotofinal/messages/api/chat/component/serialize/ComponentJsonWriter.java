@@ -0,0 +1,279 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.chat.component.serialize;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.gotofinal.messages.api.chat.component.BaseComponent;
+import com.gotofinal.messages.api.chat.component.ClickEvent;
+import com.gotofinal.messages.api.chat.component.HoverEvent;
+import com.gotofinal.messages.api.chat.component.Style;
+import com.gotofinal.messages.api.chat.component.TextComponent;
+import com.gotofinal.messages.api.chat.component.TranslatableComponent;
+
+/**
+ * Streaming json serializer for chat components, writes components directly to given {@link Appendable} without building json tree. <br>
+ * Style values that are inherited from parent component anyway are not written, so output may be shorter than output of gson serializers.
+ */
+public final class ComponentJsonWriter
+{
+    private static final String[] clickActions = actionNames(ClickEvent.Action.values());
+    private static final String[] hoverActions = actionNames(HoverEvent.Action.values());
+    private static final char[]   hex          = "0123456789abcdef".toCharArray();
+
+    private final Appendable      out;
+    private       BaseComponent[] path = new BaseComponent[8];
+    private       int             depth;
+
+    private ComponentJsonWriter(final Appendable out)
+    {
+        this.out = out;
+    }
+
+    /**
+     * Returns json representation of given {@link BaseComponent}
+     *
+     * @param component component to serialize.
+     *
+     * @return json representation of given component.
+     *
+     * @throws IllegalArgumentException if component contains itself.
+     */
+    public static String toJson(final BaseComponent component)
+    {
+        final StringBuilder builder = new StringBuilder(128);
+        try
+        {
+            write(builder, component);
+        } catch (final IOException e)
+        {
+            throw new AssertionError(e); // StringBuilder don't throw IOException
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Write json representation of given {@link BaseComponent} to given appendable.
+     *
+     * @param out       appendable to use.
+     * @param component component to serialize, may be null.
+     *
+     * @throws IOException              if appendable throws it.
+     * @throws IllegalArgumentException if component contains itself.
+     */
+    public static void write(final Appendable out, final BaseComponent component) throws IOException
+    {
+        new ComponentJsonWriter(out).writeComponent(component, Style.EMPTY);
+    }
+
+    private void writeComponent(final BaseComponent component, final Style inherited) throws IOException
+    {
+        if (component == null)
+        {
+            this.out.append("null");
+            return;
+        }
+        this.enter(component);
+        final Style style = component.getStyle().inherit(inherited);
+        this.out.append('{');
+        boolean next = this.writeStyle(component.getStyle().relativeTo(inherited));
+        final List<BaseComponent> extra = component.getExtra();
+        if (extra != null)
+        {
+            next = this.name("extra", next);
+            this.writeArray(extra, style);
+        }
+        final ClickEvent clickEvent = component.getClickEvent();
+        if (clickEvent != null)
+        {
+            next = this.name("clickEvent", next);
+            this.out.append("{\"action\":\"").append(clickActions[clickEvent.getAction().ordinal()]).append('"');
+            if (clickEvent.getValue() != null)
+            {
+                this.out.append(",\"value\":");
+                this.writeString(clickEvent.getValue());
+            }
+            this.out.append('}');
+        }
+        final HoverEvent hoverEvent = component.getHoverEvent();
+        if (hoverEvent != null)
+        {
+            next = this.name("hoverEvent", next);
+            this.out.append("{\"action\":\"").append(hoverActions[hoverEvent.getAction().ordinal()]).append('"');
+            if (hoverEvent.getValue() != null)
+            {
+                this.out.append(",\"value\":");
+                this.writeArray(Arrays.asList(hoverEvent.getValue()), Style.EMPTY);
+            }
+            this.out.append('}');
+        }
+        if (component instanceof TextComponent)
+        {
+            final String text = ((TextComponent) component).getText();
+            if (text != null)
+            {
+                this.name("text", next);
+                this.writeString(text);
+            }
+        }
+        else if (component instanceof TranslatableComponent)
+        {
+            final TranslatableComponent translatable = (TranslatableComponent) component;
+            if (translatable.getTranslate() != null)
+            {
+                next = this.name("translate", next);
+                this.writeString(translatable.getTranslate());
+            }
+            if (translatable.getWith() != null)
+            {
+                this.name("with", next);
+                this.writeArray(translatable.getWith(), style);
+            }
+        }
+        this.out.append('}');
+        this.depth--;
+    }
+
+    private boolean writeStyle(final Style style) throws IOException
+    {
+        if (style.isEmpty())
+        {
+            return false;
+        }
+        boolean next = false;
+        if (style.getColor() != null)
+        {
+            next = this.name("color", false);
+            this.out.append('"').append(style.getColor().getName()).append('"');
+        }
+        next = this.writeFlag("bold", style.isBold(), next);
+        next = this.writeFlag("italic", style.isItalic(), next);
+        next = this.writeFlag("underlined", style.isUnderlined(), next);
+        next = this.writeFlag("strikethrough", style.isStrikethrough(), next);
+        return this.writeFlag("obfuscated", style.isObfuscated(), next);
+    }
+
+    private boolean writeFlag(final String name, final Boolean flag, final boolean next) throws IOException
+    {
+        if (flag == null)
+        {
+            return next;
+        }
+        this.name(name, next);
+        this.out.append(flag ? "true" : "false");
+        return true;
+    }
+
+    private void writeArray(final List<BaseComponent> components, final Style inherited) throws IOException
+    {
+        this.out.append('[');
+        for (int i = 0, size = components.size(); i < size; i++)
+        {
+            if (i != 0)
+            {
+                this.out.append(',');
+            }
+            this.writeComponent(components.get(i), inherited);
+        }
+        this.out.append(']');
+    }
+
+    private boolean name(final String name, final boolean next) throws IOException
+    {
+        if (next)
+        {
+            this.out.append(',');
+        }
+        this.out.append('"').append(name).append("\":");
+        return true;
+    }
+
+    private void writeString(final String str) throws IOException
+    {
+        this.out.append('"');
+        int start = 0;
+        for (int i = 0, length = str.length(); i < length; i++)
+        {
+            final char c = str.charAt(i);
+            if ((c >= ' ') && (c != '"') && (c != '\\') && (c != '\u2028') && (c != '\u2029'))
+            {
+                continue;
+            }
+            this.out.append(str, start, i);
+            start = i + 1;
+            switch (c)
+            {
+                case '"':
+                    this.out.append("\\\"");
+                    break;
+                case '\\':
+                    this.out.append("\\\\");
+                    break;
+                case '\n':
+                    this.out.append("\\n");
+                    break;
+                case '\t':
+                    this.out.append("\\t");
+                    break;
+                case '\r':
+                    this.out.append("\\r");
+                    break;
+                default:
+                    this.out.append("\\u").append(hex[c >>> 12]).append(hex[(c >>> 8) & 15]).append(hex[(c >>> 4) & 15]).append(hex[c & 15]);
+                    break;
+            }
+        }
+        this.out.append(str, start, str.length()).append('"');
+    }
+
+    // components may be shared between many trees, so only components on current path are checked for loops.
+    private void enter(final BaseComponent component)
+    {
+        for (int i = 0; i < this.depth; i++)
+        {
+            if (this.path[i] == component)
+            {
+                throw new IllegalArgumentException("Component loop");
+            }
+        }
+        if (this.depth == this.path.length)
+        {
+            this.path = Arrays.copyOf(this.path, this.depth << 1);
+        }
+        this.path[this.depth++] = component;
+    }
+
+    private static String[] actionNames(final Enum<?>[] actions)
+    {
+        final String[] names = new String[actions.length];
+        for (int i = 0; i < actions.length; i++)
+        {
+            names[i] = actions[i].toString().toLowerCase();
+        }
+        return names;
+    }
+}
@@ -259,10 +259,12 @@ public class ComponentSerializer implements JsonDeserializer<BaseComponent>
      * @param component component to deserialize.
      *
      * @return json representation of given {@link BaseComponent}
+     *
+     * @see ComponentJsonWriter
      */
     public static String toString(final BaseComponent component)
     {
-        return gson.toJson(component);
+        return ComponentJsonWriter.toJson(component);
     }
 
     /**
@@ -274,6 +276,6 @@ public class ComponentSerializer implements JsonDeserializer<BaseComponent>
      */
     public static String toString(final BaseComponent... components)
     {
-        return gson.toJson(new TextComponent(components));
+        return ComponentJsonWriter.toJson(new TextComponent(components));
     }
 }
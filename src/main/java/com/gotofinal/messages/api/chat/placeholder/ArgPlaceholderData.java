@@ -24,43 +24,66 @@
 
 package com.gotofinal.messages.api.chat.placeholder;
 
+import java.util.Collection;
 import java.util.function.Supplier;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+/**
+ * Represent placeholder with arguments, like $&lt;player.balance:$&lt;currency.symbol&gt;&gt;. <br>
+ * Literal arguments are stored as constants, so only nested placeholders ({@link PlaceholderArguments.Node}) are evaluated for each use.
+ *
+ * @param <T> type of placeholder item.
+ */
 class ArgPlaceholderData<T> implements PlaceholderData<T>
 {
+    private static final int[] EMPTY_INDEXES = new int[0];
+
     protected final String             fullName;
     protected final String             objectName;
     protected final PlaceholderItem<T> item;
     protected final Object[]           args;
-    protected final boolean            containsSubPlaceholders;
-// TODO: how to parse and use nested placeholders?
+    protected final int[]              dynamicArgs;
+
     ArgPlaceholderData(final String fullName, final String objectName, final PlaceholderItem<T> item, final Object[] args)
     {
         this.fullName = fullName.intern();
         this.objectName = objectName.intern();
         this.item = item;
         this.args = args;
+        int count = 0;
         for (final Object arg : args)
         {
             if (arg instanceof Supplier)
             {
-                this.containsSubPlaceholders = true;
-                return;
+                count++;
+            }
+        }
+        this.dynamicArgs = (count == 0) ? EMPTY_INDEXES : new int[count];
+        for (int i = 0, j = 0; j < count; i++)
+        {
+            if (args[i] instanceof Supplier)
+            {
+                this.dynamicArgs[j++] = i;
             }
         }
-        this.containsSubPlaceholders = false;
     }
 
-    ArgPlaceholderData(final String fullName, final String objectName, final PlaceholderItem<T> item, final Object[] args, final boolean containsSubPlaceholders)
+    /**
+     * Add names of all objects used by nested placeholders of this placeholder to given collection.
+     *
+     * @param names collection of names.
+     */
+    void collectObjectNames(final Collection<String> names)
     {
-        this.fullName = fullName.intern();
-        this.objectName = objectName.intern();
-        this.item = item;
-        this.args = args;
-        this.containsSubPlaceholders = containsSubPlaceholders;
+        for (final int i : this.dynamicArgs)
+        {
+            if (this.args[i] instanceof PlaceholderArguments.Node)
+            {
+                ((PlaceholderArguments.Node) this.args[i]).collectObjectNames(names);
+            }
+        }
     }
 
     @Override
@@ -90,7 +113,22 @@ class ArgPlaceholderData<T> implements PlaceholderData<T>
     @Override
     public boolean containsSubPlaceholders()
     {
-        return this.containsSubPlaceholders;
+        return this.dynamicArgs.length != 0;
+    }
+
+    @Override
+    public Object[] getArguments(final T obj)
+    {
+        if (this.dynamicArgs.length == 0)
+        {
+            return this.args;
+        }
+        final Object[] parsed = this.args.clone();
+        for (final int i : this.dynamicArgs)
+        {
+            parsed[i] = ((Supplier<?>) this.args[i]).get();
+        }
+        return parsed;
     }
 
     @Override
@@ -106,20 +144,18 @@ class ArgPlaceholderData<T> implements PlaceholderData<T>
         }
 
         final ArgPlaceholderData<?> that = (ArgPlaceholderData<?>) o;
-        return (this.containsSubPlaceholders == that.containsSubPlaceholders) && this.fullName.equals(that.fullName);
+        return this.fullName.equals(that.fullName);
     }
 
     @Override
     public int hashCode()
     {
-        int result = this.fullName.hashCode();
-        result = (31 * result) + (this.containsSubPlaceholders ? 1 : 0);
-        return result;
+        return this.fullName.hashCode();
     }
 
     @Override
     public String toString()
     {
-        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("fullName", this.fullName).append("objectName", this.objectName).append("item", this.item).append("args", this.args).append("containsSubPlaceholders", this.containsSubPlaceholders).toString();
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("fullName", this.fullName).append("objectName", this.objectName).append("item", this.item).append("args", this.args).toString();
     }
 }
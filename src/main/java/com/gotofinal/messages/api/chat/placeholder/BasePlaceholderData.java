@@ -24,8 +24,12 @@
 
 package com.gotofinal.messages.api.chat.placeholder;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.logging.Level;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import com.gotofinal.messages.api.MessagesAPI;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -37,7 +41,10 @@ import org.apache.commons.lang3.builder.ToStringStyle;
  */
 class BasePlaceholderData<T> implements PlaceholderData<T>
 {
-    static final Map<String, PlaceholderData<?>> cache = new HashMap<>(100, .2f);
+    /**
+     * Interned placeholder data by full name, entries are removed when not used by any message or when cache is full.
+     */
+    static final Cache<String, PlaceholderData<?>> cache = CacheBuilder.newBuilder().maximumSize(10_000).weakValues().build();
 
     protected final String             fullName;
     protected final String             objectName;
@@ -50,6 +57,117 @@ class BasePlaceholderData<T> implements PlaceholderData<T>
         this.item = item;
     }
 
+    /**
+     * Parse single placeholder, like "player.name" or "player.balance:$&lt;currency.symbol&gt;" (text between "$&lt;" and "&gt;"). <br>
+     * Text after first ':' of item is compiled to arguments of placeholder, see {@link PlaceholderArguments}.
+     *
+     * @param api  instance of api.
+     * @param key  text of placeholder.
+     * @param str  source string, used only in warnings.
+     * @param warn if true, method will print warnings about invalid placeholders to console.
+     *
+     * @return placeholder data or null if placeholder is invalid.
+     */
+    static PlaceholderData<?> parse(final MessagesAPI api, final String key, final String str, final boolean warn)
+    {
+        int index = typeEnd(key);
+        final boolean simple = index == - 1;
+        final String value = key.substring(index + 1);
+        final String typeID;
+        final String typeName;
+        String fullName = "$<";
+        {
+            final String type = simple ? "" : key.substring(0, index);
+            index = type.indexOf(':');
+            if (index == - 1)
+            {
+                fullName += type;
+                typeID = type;
+                typeName = type;
+            }
+            else
+            {
+                typeID = type.substring(0, index);
+                typeName = type.substring(index + 1);
+                fullName += typeID + ":" + typeName;
+            }
+        }
+        fullName += (simple ? "" : ".") + value + ">";
+        final PlaceholderData<?> data = cache.getIfPresent(fullName);
+        if (data != null)
+        {
+            return data;
+        }
+        final PlaceholderType<?> placeholderType = PlaceholderType.get(typeID);
+        if (placeholderType == null)
+        {
+            if (warn)
+            {
+                api.getLogger().warning("Unknown placeholder type (" + typeID + ") in: " + fullName + ", in string: " + str);
+            }
+            return null;
+        }
+        final int argsIndex = simple ? - 1 : value.indexOf(':');
+        final String itemID = (argsIndex == - 1) ? value : value.substring(0, argsIndex);
+        PlaceholderItem<?> item;
+        try
+        {
+            item = placeholderType.getItem(itemID);
+        } catch (final IllegalStateException e)
+        {
+            if (warn)
+            {
+                api.getLogger().log(Level.WARNING, "Can't use placeholder item (" + itemID + ") in: " + fullName + ", in string: " + str, e);
+            }
+            return null;
+        }
+        if ((item == null) && simple)
+        {
+            item = new BasePlaceholderItem<>(placeholderType, typeID, o -> o);
+        }
+        if (item == null)
+        {
+            if (warn)
+            {
+                api.getLogger().warning("Unknown placeholder item (" + itemID + ") in: " + fullName + ", in string: " + str);
+            }
+            return null;
+        }
+        if (argsIndex == - 1)
+        {
+            return PlaceholderData.valueOf(fullName, typeName, item);
+        }
+        return valueOf(fullName, typeName, item, PlaceholderArguments.compile(api, value.substring(argsIndex + 1), str, warn));
+    }
+
+    /**
+     * Returns name of object used by placeholder parsed from given text, like "player" for "player.name" or "killer" for "player:killer.name".
+     *
+     * @param key  text of placeholder.
+     * @param data placeholder parsed from given text.
+     *
+     * @return name of object used by placeholder.
+     */
+    static String getDataName(final String key, final PlaceholderData<?> data)
+    {
+        return (typeEnd(key) == - 1) ? key : data.getObjectName();
+    }
+
+    private static int typeEnd(final String key)
+    {
+        final int index = key.indexOf('.');
+        final int nested = key.indexOf("$<");
+        return ((nested != - 1) && (index > nested)) ? - 1 : index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> PlaceholderData<T> valueOf(final String fullName, final String objectName, final PlaceholderItem<T> item, final Object[] args)
+    {
+        final PlaceholderData<T> result = new ArgPlaceholderData<>(fullName, objectName, item, args);
+        final PlaceholderData<?> cached = cache.asMap().putIfAbsent(fullName, result);
+        return (cached == null) ? result : (PlaceholderData<T>) cached;
+    }
+
     @Override
     public String getFullName()
     {
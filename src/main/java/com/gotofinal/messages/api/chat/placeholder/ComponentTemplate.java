@@ -0,0 +1,671 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.chat.placeholder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.gotofinal.messages.api.PreparedComponent;
+import com.gotofinal.messages.api.chat.component.BaseComponent;
+import com.gotofinal.messages.api.chat.component.ClickEvent;
+import com.gotofinal.messages.api.chat.component.HoverEvent;
+import com.gotofinal.messages.api.chat.component.TextComponent;
+import com.gotofinal.messages.api.chat.component.TranslatableComponent;
+import com.gotofinal.messages.api.chat.placeholder.PlaceholderType.GlobalPlaceholderType;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Represent {@link BaseComponent} compiled to template, every string of component (text, translate key, click event value and all texts of hover
+ * event) is stored as literal parts and indexes of placeholder slots, so rendering just fills slots without searching for placeholders. <br>
+ * Each slot represent single {@link PlaceholderData} used in component, slots are numbered in order of first occurrence. <br>
+ * Objects used only by nested placeholders in arguments, like "currency" in $&lt;player.balance:$&lt;currency.symbol&gt;&gt;, get own slots
+ * at the end, without any placeholder, so they are fetched like any other object and then used by arguments during {@link #apply(Object[])}. <br>
+ * Source component is frozen, so prepared components share all its parts without placeholders, and only nodes on path to filled slots are created.
+ */
+public final class ComponentTemplate
+{
+    private static final BaseComponent[] EMPTY_COMPONENTS = new BaseComponent[0];
+
+    private final BaseComponent            component;
+    private final Node                     root;
+    private final PlaceholderData<?>[]     slots;
+    private final String[]                 slotNames;
+    private final GlobalPlaceholderType<?>[] globals; // global type of each slot, null if template don't use any global placeholders
+    private final PreparedComponent        prepared; // only for static templates
+    private volatile Binding               binding; // last bound argument names, see bind(String[])
+
+    private ComponentTemplate(final BaseComponent component, final Node root, final PlaceholderData<?>[] slots, final String[] slotNames)
+    {
+        this.component = component;
+        this.root = root;
+        this.slots = slots;
+        this.slotNames = slotNames;
+        this.globals = findGlobals(slotNames);
+        this.prepared = (slots.length == 0) ? new PreparedComponent(root.render(slots, new Object[0])) : null;
+    }
+
+    /**
+     * Compile given component to template, only given placeholders are used as slots, rest of text is stored as literal. <br>
+     * Given component is frozen, see {@link BaseComponent#freeze()}.
+     *
+     * @param component    component to compile.
+     * @param placeholders placeholders used in component grouped by object name, like returned by {@link PlaceholderData#parseString}.
+     *
+     * @return compiled template.
+     */
+    public static ComponentTemplate compile(final BaseComponent component, final Map<String, Collection<PlaceholderData<?>>> placeholders)
+    {
+        component.freeze();
+        final Compiler compiler = new Compiler(placeholders);
+        final Node root = compiler.compile(component);
+        compiler.addArgumentSlots();
+        return new ComponentTemplate(component, root, compiler.slots.toArray(new PlaceholderData<?>[compiler.slots.size()]), compiler.slotNames.toArray(new String[compiler.slotNames.size()]));
+    }
+
+    /**
+     * Returns source component of this template, it should not be edited.
+     *
+     * @return source component of this template.
+     */
+    public BaseComponent getComponent()
+    {
+        return this.component;
+    }
+
+    /**
+     * Returns true if this template don't contains any placeholder slots.
+     *
+     * @return true if this template don't contains any placeholder slots.
+     */
+    public boolean isStatic()
+    {
+        return this.slots.length == 0;
+    }
+
+    /**
+     * Returns amount of placeholder slots in this template.
+     *
+     * @return amount of placeholder slots in this template.
+     */
+    public int getSlotsCount()
+    {
+        return this.slots.length;
+    }
+
+    /**
+     * Returns placeholder used in given slot, or null if slot only provides object for nested placeholders.
+     *
+     * @param slot index of slot.
+     *
+     * @return placeholder used in given slot or null.
+     */
+    public PlaceholderData<?> getSlot(final int slot)
+    {
+        return this.slots[slot];
+    }
+
+    /**
+     * Returns name of object used by given slot, like "player" for $&lt;player.name&gt; or "killer" for $&lt;player:killer.name&gt;.
+     *
+     * @param slot index of slot.
+     *
+     * @return name of object used by given slot.
+     */
+    public String getSlotName(final int slot)
+    {
+        return this.slotNames[slot];
+    }
+
+    /**
+     * Returns true if any slot of this template uses global placeholder type.
+     *
+     * @return true if any slot of this template uses global placeholder type.
+     */
+    public boolean usesGlobals()
+    {
+        return this.globals != null;
+    }
+
+    /**
+     * Returns index of positional argument used by each slot, or -1 if slot don't use any of given arguments. <br>
+     * Last binding is remembered, so binding this same names array again don't need any lookups.
+     *
+     * @param names names of positional arguments, array must not be changed later.
+     *
+     * @return index of argument for each slot.
+     */
+    public int[] bind(final String[] names)
+    {
+        Binding binding = this.binding;
+        if ((binding == null) || (binding.names != names))
+        {
+            final int[] indexes = new int[this.slotNames.length];
+            for (int i = 0; i < indexes.length; i++)
+            {
+                indexes[i] = - 1;
+                for (int j = 0; j < names.length; j++)
+                {
+                    if (names[j].equals(this.slotNames[i]))
+                    {
+                        indexes[i] = j;
+                        break;
+                    }
+                }
+            }
+            binding = new Binding(names, indexes);
+            this.binding = binding;
+        }
+        return binding.indexes;
+    }
+
+    /**
+     * Fetch values of all slots, global placeholders are always fetched from own global suppliers. <br>
+     * Each placeholder item and child converter is evaluated at most once for each object. <br>
+     * Returned array contains {@link String}, frozen {@link BaseComponent} or null (when there was no object for slot) for each slot,
+     * and can be later used in {@link #render(Object[])}.
+     *
+     * @param objects objects for each slot, use null if object is missing.
+     *
+     * @return array of values for each slot.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object[] apply(final Object[] objects)
+    {
+        final Object[] values = new Object[this.slots.length];
+        final RenderMemo memo = RenderMemo.begin(this.slotNames, objects);
+        try
+        {
+            for (int i = 0; i < this.slots.length; i++)
+            {
+                if (this.slots[i] == null)
+                {
+                    continue;
+                }
+                final Object obj = ((this.globals == null) || (this.globals[i] == null)) ? objects[i] : this.globals[i].getValue();
+                if (obj == null)
+                {
+                    continue;
+                }
+                final Object result = ((PlaceholderData) this.slots[i]).apply(obj);
+                values[i] = (result instanceof BaseComponent) ? freeze((BaseComponent) result) : String.valueOf(result);
+            }
+        } finally
+        {
+            memo.end();
+        }
+        return values;
+    }
+
+    /**
+     * Render new component using given values of slots, slots without value (null) are left as placeholder text. <br>
+     * Returned component is fully editable copy, use {@link #prepare(Object[])} to get component that shares static parts of template.
+     *
+     * @param values values of slots, see {@link #apply(Object[])}.
+     *
+     * @return new component with filled slots.
+     */
+    public BaseComponent render(final Object[] values)
+    {
+        return this.root.render(this.slots, values).duplicate();
+    }
+
+    /**
+     * Render component prepared to send using given values of slots, static templates always return this same prepared component. <br>
+     * Parts of template without placeholders are shared in wrapped component as frozen components, so it must not be edited.
+     *
+     * @param values values of slots, see {@link #apply(Object[])}.
+     *
+     * @return prepared component with filled slots.
+     */
+    public PreparedComponent prepare(final Object[] values)
+    {
+        if (this.prepared != null)
+        {
+            return this.prepared;
+        }
+        return new PreparedComponent(this.root.render(this.slots, values));
+    }
+
+    @Override
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("component", this.component).append("slotNames", this.slotNames).toString();
+    }
+
+    private static BaseComponent freeze(final BaseComponent component)
+    {
+        return component.isFrozen() ? component : component.duplicate().freeze();
+    }
+
+    private static GlobalPlaceholderType<?>[] findGlobals(final String[] slotNames)
+    {
+        GlobalPlaceholderType<?>[] globals = null;
+        for (int i = 0; i < slotNames.length; i++)
+        {
+            final GlobalPlaceholderType<?> global = PlaceholderType.getGlobal(slotNames[i]);
+            if (global == null)
+            {
+                continue;
+            }
+            if (globals == null)
+            {
+                globals = new GlobalPlaceholderType<?>[slotNames.length];
+            }
+            globals[i] = global;
+        }
+        return globals;
+    }
+
+    private static final class Compiler
+    {
+        private final Map<String, PlaceholderData<?>> byName;
+        private final Map<String, String>             objectNames;
+        private final Map<String, Integer>            indexes   = new HashMap<>(8);
+        private final List<PlaceholderData<?>>        slots     = new ArrayList<>(8);
+        private final List<String>                    slotNames = new ArrayList<>(8);
+
+        private Compiler(final Map<String, Collection<PlaceholderData<?>>> placeholders)
+        {
+            this.byName = new HashMap<>(16);
+            this.objectNames = new HashMap<>(16);
+            final PlaceholderSlots slots = PlaceholderSlots.of(placeholders);
+            for (int i = 0; i < slots.size(); i++)
+            {
+                for (final PlaceholderData<?> data : slots.getData(i))
+                {
+                    this.byName.put(data.getFullName(), data);
+                    this.objectNames.put(data.getFullName(), slots.getName(i));
+                }
+            }
+        }
+
+        private Node compile(final BaseComponent component)
+        {
+            final Node node;
+            if (component instanceof TextComponent)
+            {
+                node = new Node(component, this.compile(((TextComponent) component).getText()), false);
+            }
+            else if (component instanceof TranslatableComponent)
+            {
+                final TranslatableComponent translatable = (TranslatableComponent) component;
+                node = new Node(component, this.compile(translatable.getTranslate()), true);
+                node.with = this.compile(translatable.getWith());
+            }
+            else
+            {
+                return new Node(component, null, false);
+            }
+            final ClickEvent clickEvent = component.getClickEvent();
+            if (clickEvent != null)
+            {
+                node.clickValue = this.compile(clickEvent.getValue());
+            }
+            final HoverEvent hoverEvent = component.getHoverEvent();
+            if ((hoverEvent != null) && (hoverEvent.getValue() != null))
+            {
+                final BaseComponent[] value = hoverEvent.getValue();
+                node.hoverValue = new Node[value.length];
+                for (int i = 0; i < value.length; i++)
+                {
+                    node.hoverValue[i] = this.compile(value[i]);
+                }
+            }
+            node.extra = this.compile(component.getExtra());
+            node.shared = node.text.isStatic() && ((node.clickValue == null) || node.clickValue.isStatic()) && isShared(node.with) && isShared(node.hoverValue) && isShared(node.extra);
+            return node;
+        }
+
+        private static boolean isShared(final Node[] nodes)
+        {
+            if (nodes != null)
+            {
+                for (final Node node : nodes)
+                {
+                    if (! node.shared)
+                    {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private Node[] compile(final List<BaseComponent> components)
+        {
+            if (components == null)
+            {
+                return null;
+            }
+            final Node[] nodes = new Node[components.size()];
+            int i = 0;
+            for (final BaseComponent component : components)
+            {
+                nodes[i++] = this.compile(component);
+            }
+            return nodes;
+        }
+
+        private TemplateString compile(final String str)
+        {
+            if ((str == null) || this.byName.isEmpty())
+            {
+                return new TemplateString(str);
+            }
+            List<String> literals = null;
+            List<Integer> slots = null;
+            int last = 0;
+            int start = str.indexOf("$<");
+            while (start != - 1)
+            {
+                final int end = PlaceholderArguments.endOf(str, start);
+                if (end == - 1)
+                {
+                    break;
+                }
+                final String fullName = str.substring(start, end + 1);
+                final PlaceholderData<?> data = this.byName.get(fullName);
+                if (data == null)
+                {
+                    start = str.indexOf("$<", start + 2);
+                    continue;
+                }
+                if (literals == null)
+                {
+                    literals = new ArrayList<>(4);
+                    slots = new ArrayList<>(4);
+                }
+                literals.add(str.substring(last, start));
+                slots.add(this.slotOf(fullName, data));
+                last = end + 1;
+                start = str.indexOf("$<", last);
+            }
+            if (literals == null)
+            {
+                return new TemplateString(str);
+            }
+            literals.add(str.substring(last));
+            final int[] slotsArray = new int[slots.size()];
+            for (int i = 0; i < slotsArray.length; i++)
+            {
+                slotsArray[i] = slots.get(i);
+            }
+            return new TemplateString(literals.toArray(new String[literals.size()]), slotsArray);
+        }
+
+        private void addArgumentSlots()
+        {
+            final Collection<String> names = new LinkedHashSet<>(4);
+            for (final PlaceholderData<?> data : this.slots)
+            {
+                if (data instanceof ArgPlaceholderData)
+                {
+                    ((ArgPlaceholderData<?>) data).collectObjectNames(names);
+                }
+            }
+            names.removeAll(this.slotNames);
+            names.removeIf(name -> PlaceholderType.getGlobal(name) != null);
+            for (final String name : names)
+            {
+                this.slots.add(null);
+                this.slotNames.add(name);
+            }
+        }
+
+        private int slotOf(final String fullName, final PlaceholderData<?> data)
+        {
+            Integer index = this.indexes.get(fullName);
+            if (index == null)
+            {
+                index = this.slots.size();
+                this.slots.add(data);
+                this.slotNames.add(this.objectNames.get(fullName));
+                this.indexes.put(fullName, index);
+            }
+            return index;
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("slots", this.slots).append("slotNames", this.slotNames).toString();
+        }
+    }
+
+    private static final class TemplateString
+    {
+        private final String[] literals;
+        private final int[]    slots;
+        private final int      length;
+
+        private TemplateString(final String literal)
+        {
+            this.literals = new String[]{literal};
+            this.slots = null;
+            this.length = (literal == null) ? 0 : literal.length();
+        }
+
+        private TemplateString(final String[] literals, final int[] slots)
+        {
+            this.literals = literals;
+            this.slots = slots;
+            int length = 0;
+            for (final String literal : literals)
+            {
+                length += literal.length();
+            }
+            this.length = length;
+        }
+
+        private boolean isStatic()
+        {
+            return this.slots == null;
+        }
+
+        private String render(final PlaceholderData<?>[] slotsData, final Object[] values)
+        {
+            if (this.slots == null)
+            {
+                return this.literals[0];
+            }
+            final StringBuilder builder = new StringBuilder(this.length + (this.slots.length << 4));
+            for (int i = 0; i < this.slots.length; i++)
+            {
+                builder.append(this.literals[i]);
+                final int slot = this.slots[i];
+                final Object value = values[slot];
+                if (value == null)
+                {
+                    builder.append(slotsData[slot].getFullName());
+                }
+                else if (value instanceof BaseComponent)
+                {
+                    builder.append(((BaseComponent) value).toLegacyText());
+                }
+                else
+                {
+                    builder.append(value);
+                }
+            }
+            builder.append(this.literals[this.slots.length]);
+            return builder.toString();
+        }
+
+        private void renderText(final TextComponent target, final PlaceholderData<?>[] slotsData, final Object[] values)
+        {
+            if (this.slots == null)
+            {
+                target.setText(this.literals[0]);
+                return;
+            }
+            StringBuilder builder = new StringBuilder(this.length + (this.slots.length << 4));
+            boolean textSet = false;
+            for (int i = 0; i < this.slots.length; i++)
+            {
+                builder.append(this.literals[i]);
+                final int slot = this.slots[i];
+                final Object value = values[slot];
+                if (value instanceof BaseComponent)
+                {
+                    if (! textSet)
+                    {
+                        target.setText(builder.toString());
+                        textSet = true;
+                    }
+                    else if (builder.length() > 0)
+                    {
+                        target.addExtra(builder.toString());
+                    }
+                    builder = new StringBuilder(this.length);
+                    target.addExtra((BaseComponent) value);
+                }
+                else
+                {
+                    builder.append((value == null) ? slotsData[slot].getFullName() : value);
+                }
+            }
+            builder.append(this.literals[this.slots.length]);
+            if (! textSet)
+            {
+                target.setText(builder.toString());
+            }
+            else if (builder.length() > 0)
+            {
+                target.addExtra(builder.toString());
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("literals", this.literals).append("slots", this.slots).toString();
+        }
+    }
+
+    private static final class Node
+    {
+        private final BaseComponent  component;
+        private final TemplateString text;
+        private final boolean        translatable;
+        private       Node[]         with;
+        private       TemplateString clickValue;
+        private       Node[]         hoverValue;
+        private       Node[]         extra;
+        private       boolean        shared; // if node don't contain any slots, source component is used
+
+        private Node(final BaseComponent component, final TemplateString text, final boolean translatable)
+        {
+            this.component = component;
+            this.text = text;
+            this.translatable = translatable;
+            this.shared = text == null;
+        }
+
+        private BaseComponent render(final PlaceholderData<?>[] slotsData, final Object[] values)
+        {
+            if (this.shared)
+            {
+                return this.component;
+            }
+            final BaseComponent result;
+            if (this.translatable)
+            {
+                final TranslatableComponent translatable = new TranslatableComponent();
+                translatable.setTranslate(this.text.render(slotsData, values));
+                if (this.with != null)
+                {
+                    final List<BaseComponent> with = new ArrayList<>(this.with.length);
+                    for (final Node node : this.with)
+                    {
+                        with.add(node.render(slotsData, values));
+                    }
+                    translatable.setWith(with);
+                }
+                result = translatable;
+            }
+            else
+            {
+                final TextComponent text = new TextComponent();
+                this.text.renderText(text, slotsData, values);
+                result = text;
+            }
+            result.setStyle(this.component.getStyle());
+            if (this.clickValue != null)
+            {
+                final ClickEvent clickEvent = this.component.getClickEvent();
+                result.setClickEvent(this.clickValue.isStatic() ? clickEvent : new ClickEvent(clickEvent.getAction(), this.clickValue.render(slotsData, values)));
+            }
+            final HoverEvent hoverEvent = this.component.getHoverEvent();
+            if (hoverEvent != null)
+            {
+                if (this.hoverValue == null)
+                {
+                    result.setHoverEvent(hoverEvent);
+                }
+                else
+                {
+                    final BaseComponent[] hoverValue = (this.hoverValue.length == 0) ? EMPTY_COMPONENTS : new BaseComponent[this.hoverValue.length];
+                    for (int i = 0; i < this.hoverValue.length; i++)
+                    {
+                        hoverValue[i] = this.hoverValue[i].render(slotsData, values);
+                    }
+                    result.setHoverEvent(new HoverEvent(hoverEvent.getAction(), hoverValue));
+                }
+            }
+            if (this.extra != null)
+            {
+                for (final Node node : this.extra)
+                {
+                    result.addExtra(node.render(slotsData, values));
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("component", this.component).append("text", this.text).toString();
+        }
+    }
+
+    private static final class Binding
+    {
+        private final String[] names;
+        private final int[]    indexes;
+
+        private Binding(final String[] names, final int[] indexes)
+        {
+            this.names = names;
+            this.indexes = indexes;
+        }
+    }
+}
@@ -71,12 +71,12 @@ class GlobalPlaceholderItem<T> implements PlaceholderItem<T>
     @Override
     public Object apply(final T obj, final Object[] args)
     {
-        return this.func.apply(this.type.globalSupplier.get());
+        return this.func.apply(this.type.getValue());
     }
 
     public Object apply(final Object[] args)
     {
-        return this.func.apply(this.type.globalSupplier.get());
+        return this.func.apply(this.type.getValue());
     }
 
     @Override
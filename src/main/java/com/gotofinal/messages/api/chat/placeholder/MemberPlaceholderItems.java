@@ -0,0 +1,198 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.chat.placeholder;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+import com.google.common.primitives.Primitives;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Binds method and field placeholders, like $&lt;player.getFoodLevel&gt;, $&lt;player.foodLevel&gt; or $&lt;player.health&gt; to placeholder items. <br>
+ * Only public getters (no-arg methods starting from get, is, has or can) and public fields can be used. Members are bound once to
+ * {@link LambdaMetafactory} functions, or to {@link MethodHandle} when class of member isn't visible from this class loader,
+ * so there is no reflection on each render.
+ */
+final class MemberPlaceholderItems
+{
+    private static final String[] PREFIXES = {"get", "is", "has", "can"};
+
+    private MemberPlaceholderItems()
+    {
+    }
+
+    /**
+     * Bind given member of objects of given type to placeholder item.
+     *
+     * @param type placeholder type.
+     * @param id   name of getter or field, getters may be used without prefix.
+     * @param <T>  type of placeholder object.
+     *
+     * @return placeholder item or null if there is no such member.
+     *
+     * @throws IllegalStateException if member exists, but it can't be bound.
+     */
+    static <T> PlaceholderItem<T> bind(final PlaceholderType<T> type, final String id)
+    {
+        try
+        {
+            final Method method = findGetter(type.getType(), id);
+            if (method != null)
+            {
+                return new BasePlaceholderItem<>(type, id, bind(method));
+            }
+            final Field field = findField(type.getType(), id);
+            if (field != null)
+            {
+                return new BasePlaceholderItem<>(type, id, new HandleFunction<>(MethodHandles.publicLookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class))));
+            }
+        } catch (final ReflectiveOperationException | RuntimeException e)
+        {
+            throw new IllegalStateException("Can't bind member (" + id + ") of " + type.getType().getName() + " for placeholder type: " + type.getId(), e);
+        }
+        return null;
+    }
+
+    private static Method findGetter(final Class<?> clazz, final String id)
+    {
+        Method prefixed = null;
+        for (final Method method : clazz.getMethods())
+        {
+            if (Modifier.isStatic(method.getModifiers()) || (method.getParameterCount() != 0) || (method.getReturnType() == void.class) ||
+                (method.getDeclaringClass() == Object.class) || ! Modifier.isPublic(method.getDeclaringClass().getModifiers()))
+            {
+                continue;
+            }
+            final String name = method.getName();
+            for (final String prefix : PREFIXES)
+            {
+                if (! name.startsWith(prefix) || (name.length() == prefix.length()))
+                {
+                    continue;
+                }
+                if (name.equalsIgnoreCase(id))
+                {
+                    return method;
+                }
+                if ((prefixed == null) && name.regionMatches(true, prefix.length(), id, 0, id.length()) && ((name.length() - prefix.length()) == id.length()))
+                {
+                    prefixed = method;
+                }
+            }
+        }
+        return prefixed;
+    }
+
+    private static Field findField(final Class<?> clazz, final String id)
+    {
+        for (final Field field : clazz.getFields())
+        {
+            if (! Modifier.isStatic(field.getModifiers()) && field.getName().equalsIgnoreCase(id) && Modifier.isPublic(field.getDeclaringClass().getModifiers()))
+            {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Function<T, Object> bind(final Method method) throws IllegalAccessException
+    {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if (isVisible(declaringClass))
+        {
+            try
+            {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                final CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class), lookup.unreflect(method),
+                                                                    MethodType.methodType(Primitives.wrap(method.getReturnType()), declaringClass));
+                return (Function<T, Object>) site.getTarget().invokeExact();
+            } catch (final LambdaConversionException | IllegalAccessException ignored)
+            {
+                // fallback to method handle below
+            } catch (final RuntimeException | Error e)
+            {
+                throw e;
+            } catch (final Throwable e) // factory of non-capturing lambda don't throw anything else
+            {
+                throw new RuntimeException(e);
+            }
+        }
+        return new HandleFunction<>(MethodHandles.publicLookup().unreflect(method).asType(MethodType.methodType(Object.class, Object.class)));
+    }
+
+    private static boolean isVisible(final Class<?> clazz)
+    {
+        try
+        {
+            return Class.forName(clazz.getName(), false, MemberPlaceholderItems.class.getClassLoader()) == clazz;
+        } catch (final ClassNotFoundException | LinkageError e)
+        {
+            return false;
+        }
+    }
+
+    private static final class HandleFunction<T> implements Function<T, Object>
+    {
+        private final MethodHandle handle; // (Object)Object
+
+        private HandleFunction(final MethodHandle handle)
+        {
+            this.handle = handle;
+        }
+
+        @Override
+        public Object apply(final T obj)
+        {
+            try
+            {
+                return this.handle.invokeExact((Object) obj);
+            } catch (final RuntimeException | Error e)
+            {
+                throw e;
+            } catch (final Throwable e)
+            {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("handle", this.handle).toString();
+        }
+    }
+}
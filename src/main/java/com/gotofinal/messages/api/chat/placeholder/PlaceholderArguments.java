@@ -0,0 +1,264 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.chat.placeholder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.gotofinal.messages.api.MessagesAPI;
+import com.gotofinal.messages.api.chat.component.BaseComponent;
+import com.gotofinal.messages.api.chat.placeholder.PlaceholderType.GlobalPlaceholderType;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Compiles arguments of placeholder, like "$&lt;currency.symbol&gt;" and "2" in $&lt;player.balance:$&lt;currency.symbol&gt;,2&gt;. <br>
+ * Literal arguments (and arguments without any known placeholder) are folded to constant strings at load time,
+ * only nested placeholders are compiled to {@link Node} evaluated on each render.
+ */
+final class PlaceholderArguments
+{
+    private PlaceholderArguments()
+    {
+    }
+
+    /**
+     * Compile given arguments text, arguments are separated by comma, and may contain nested placeholders.
+     *
+     * @param api  instance of api.
+     * @param text text of arguments, like "$&lt;currency.symbol&gt;,2".
+     * @param str  source string, used only in warnings.
+     * @param warn if true, method will print warnings about invalid placeholders to console.
+     *
+     * @return array of constant strings and {@link Node} for dynamic arguments.
+     */
+    static Object[] compile(final MessagesAPI api, final String text, final String str, final boolean warn)
+    {
+        final List<Object> args = new ArrayList<>(4);
+        int depth = 0;
+        int last = 0;
+        for (int i = 0; i < text.length(); i++)
+        {
+            final char c = text.charAt(i);
+            if ((c == '<') && (i > 0) && (text.charAt(i - 1) == '$'))
+            {
+                depth++;
+            }
+            else if ((c == '>') && (depth > 0))
+            {
+                depth--;
+            }
+            else if ((c == ',') && (depth == 0))
+            {
+                args.add(compileArgument(api, text.substring(last, i), str, warn));
+                last = i + 1;
+            }
+        }
+        args.add(compileArgument(api, text.substring(last), str, warn));
+        return args.toArray();
+    }
+
+    /**
+     * Returns index of '&gt;' closing placeholder started at given index, nested placeholders are skipped.
+     *
+     * @param str   string with placeholder.
+     * @param start index of "$&lt;" starting placeholder.
+     *
+     * @return index of closing '&gt;' or -1.
+     */
+    static int endOf(final String str, final int start)
+    {
+        int depth = 0;
+        for (int i = start + 2; i < str.length(); i++)
+        {
+            final char c = str.charAt(i);
+            if (c == '>')
+            {
+                if (depth == 0)
+                {
+                    return i;
+                }
+                depth--;
+            }
+            else if ((c == '<') && (str.charAt(i - 1) == '$'))
+            {
+                depth++;
+            }
+        }
+        return - 1;
+    }
+
+    private static Object compileArgument(final MessagesAPI api, final String arg, final String str, final boolean warn)
+    {
+        List<String> literals = null;
+        List<SubPlaceholder> parts = null;
+        int last = 0;
+        int start = arg.indexOf("$<");
+        while (start != - 1)
+        {
+            final int end = endOf(arg, start);
+            if (end == - 1)
+            {
+                break;
+            }
+            final String key = arg.substring(start + 2, end);
+            final PlaceholderData<?> data = BasePlaceholderData.parse(api, key, str, warn);
+            if (data == null)
+            {
+                start = arg.indexOf("$<", end + 1);
+                continue;
+            }
+            if (literals == null)
+            {
+                literals = new ArrayList<>(4);
+                parts = new ArrayList<>(4);
+            }
+            literals.add(arg.substring(last, start));
+            parts.add(new SubPlaceholder(BasePlaceholderData.getDataName(key, data), data));
+            last = end + 1;
+            start = arg.indexOf("$<", last);
+        }
+        if (literals == null)
+        {
+            return arg.intern();
+        }
+        literals.add(arg.substring(last));
+        if ((parts.size() == 1) && literals.get(0).isEmpty() && literals.get(1).isEmpty())
+        {
+            return parts.get(0);
+        }
+        return new Concat(literals.toArray(new String[literals.size()]), parts.toArray(new SubPlaceholder[parts.size()]));
+    }
+
+    /**
+     * Dynamic argument evaluated on each render, it implements {@link Supplier} so it is also evaluated by {@link PlaceholderData#getArguments(Object)}.
+     */
+    abstract static class Node implements Supplier<Object>
+    {
+        /**
+         * Add names of all objects used by this argument and its nested arguments to given collection.
+         *
+         * @param names collection of names.
+         */
+        abstract void collectObjectNames(Collection<String> names);
+    }
+
+    private static final class SubPlaceholder extends Node
+    {
+        private final String                   objectName;
+        private final PlaceholderData<?>       data;
+        private final GlobalPlaceholderType<?> global;
+
+        private SubPlaceholder(final String objectName, final PlaceholderData<?> data)
+        {
+            this.objectName = objectName.intern();
+            this.data = data;
+            this.global = PlaceholderType.getGlobal(objectName);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        @Override
+        public Object get()
+        {
+            final Object obj;
+            if (this.global != null)
+            {
+                obj = this.global.getValue();
+            }
+            else
+            {
+                final RenderMemo memo = RenderMemo.get();
+                obj = (memo == null) ? null : memo.lookup(this.objectName);
+            }
+            if (obj == null)
+            {
+                return this.data.getFullName();
+            }
+            return ((PlaceholderData) this.data).apply(obj);
+        }
+
+        @Override
+        void collectObjectNames(final Collection<String> names)
+        {
+            if (this.global == null)
+            {
+                names.add(this.objectName);
+            }
+            if (this.data instanceof ArgPlaceholderData)
+            {
+                ((ArgPlaceholderData<?>) this.data).collectObjectNames(names);
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("objectName", this.objectName).append("data", this.data).toString();
+        }
+    }
+
+    private static final class Concat extends Node
+    {
+        private final String[]         literals;
+        private final SubPlaceholder[] parts;
+
+        private Concat(final String[] literals, final SubPlaceholder[] parts)
+        {
+            this.literals = literals;
+            this.parts = parts;
+        }
+
+        @Override
+        public Object get()
+        {
+            final StringBuilder sb = new StringBuilder(32);
+            for (int i = 0; i < this.parts.length; i++)
+            {
+                sb.append(this.literals[i]);
+                final Object value = this.parts[i].get();
+                sb.append((value instanceof BaseComponent) ? ((BaseComponent) value).toLegacyText() : String.valueOf(value));
+            }
+            return sb.append(this.literals[this.parts.length]).toString();
+        }
+
+        @Override
+        void collectObjectNames(final Collection<String> names)
+        {
+            for (final SubPlaceholder part : this.parts)
+            {
+                part.collectObjectNames(names);
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("literals", this.literals).append("parts", this.parts).toString();
+        }
+    }
+}
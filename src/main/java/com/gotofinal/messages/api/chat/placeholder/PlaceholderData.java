@@ -126,7 +126,8 @@ public interface PlaceholderData<T>
     }
 
     /**
-     * Delegated method from {@link BasePlaceholderItem}
+     * Delegated method from {@link BasePlaceholderItem} <br>
+     * Items without arguments are evaluated only once for each object in single render of {@link ComponentTemplate}.
      *
      * @param obj object to fetch the data needed for placeholder.
      *
@@ -136,7 +137,16 @@ public interface PlaceholderData<T>
      */
     default Object apply(final T obj)
     {
-        return this.getItem().apply(obj, this.getArguments(obj));
+        final Object[] args = this.getArguments(obj);
+        if (args.length == 0)
+        {
+            final RenderMemo memo = RenderMemo.get();
+            if (memo != null)
+            {
+                return memo.apply(this.getItem(), obj);
+            }
+        }
+        return this.getItem().apply(obj, args);
     }
 
     /**
@@ -187,20 +197,21 @@ public interface PlaceholderData<T>
     static <T> PlaceholderData<T> valueOf(final String fullName, final String objectName, final PlaceholderItem<T> item)
     {
         {
-            final PlaceholderData<?> cached = BasePlaceholderData.cache.get(fullName);
+            final PlaceholderData<?> cached = BasePlaceholderData.cache.getIfPresent(fullName);
             if (cached != null)
             {
                 return (PlaceholderData<T>) cached;
             }
         }
         final PlaceholderData<T> result = new BasePlaceholderData<>(fullName, objectName, item);
-        BasePlaceholderData.cache.put(fullName, result);
-        return result;
+        final PlaceholderData<?> cached = BasePlaceholderData.cache.asMap().putIfAbsent(fullName, result);
+        return (cached == null) ? result : (PlaceholderData<T>) cached;
     }
-// TODO add support for method placeholders
 
     /**
      * Get collectiona of used placeholders grouped by object name in given string. <br>
+     * Placeholder item may use arguments separated by comma after ':', like $&lt;player.stat:kills,2&gt;, arguments may contain nested placeholders,
+     * like $&lt;player.balance:$&lt;currency.symbol&gt;&gt;, nested placeholders are part of argument and are not returned as separate placeholders. <br>
      * Will return null if null string is given.
      *
      * @param api  instance of api.
@@ -215,8 +226,9 @@ public interface PlaceholderData<T>
         {
             return null;
         }
-        final Map<String, Collection<PlaceholderData<?>>> result = new HashMap<>(3, .1f);
+        final Map<String, Collection<PlaceholderData<?>>> result = new HashMap<>(4);
         StringBuilder key = null;
+        int depth = 0;
         char lastChar = '\u0000';
         for (final char c : str.toCharArray())
         {
@@ -241,75 +253,41 @@ public interface PlaceholderData<T>
             }
             if (c == '>')
             {
-                final String string = key.toString();
-                int index = string.indexOf('.');
-                final boolean simple = index == - 1;
-                final String value = string.substring(index + 1);
-                final String typeID;
-                final String typeName;
-                String fullName = "$<";
+                if (depth > 0)
                 {
-                    final String type = simple ? "" : string.substring(0, index);
-                    index = type.indexOf(':');
-                    if (index == - 1)
-                    {
-                        fullName += type;
-                        typeID = type;
-                        typeName = type;
-                    }
-                    else
-                    {
-                        typeID = type.substring(0, index);
-                        typeName = type.substring(index + 1);
-                        fullName += typeID + ":" + typeName;
-                    }
-                }
-                fullName += (simple ? "" : ".") + value + ">";
-                PlaceholderData<?> data = BasePlaceholderData.cache.get(fullName);
-                if (data == null)
-                {
-                    final PlaceholderType<?> placeholderType = PlaceholderType.get(typeID);
-                    if (placeholderType != null)
-                    {
-                        PlaceholderItem<?> item = placeholderType.getItem(value);
-                        if ((item == null) && simple)
-                        {
-                            item = new BasePlaceholderItem<>(placeholderType, typeID, o -> o);
-                        }
-                        if (item != null)
-                        {
-                            data = valueOf(fullName, typeName, item);
-                        }
-                        else if (warn)
-                        {
-                            api.getLogger().warning("Unknown placeholder item (" + value + ") in: " + fullName + ", in string: " + str);
-                        }
-                    }
-                    else if (warn)
-                    {
-                        api.getLogger().warning("Unknown placeholder type (" + typeID + ") in: " + fullName + ", in string: " + str);
-                    }
+                    depth--;
+                    key.append(c);
+                    lastChar = c;
+                    continue;
                 }
+                final String string = key.toString();
+                final PlaceholderData<?> data = BasePlaceholderData.parse(api, string, str, warn);
                 if (data != null)
                 {
-                    final String dataID = simple ? value : data.getObjectName();
+                    final String dataID = BasePlaceholderData.getDataName(string, data);
                     Collection<PlaceholderData<?>> collection = result.get(dataID);
                     if (collection == null)
                     {
-                        collection = new HashSet<>(5, .1f);
+                        collection = new HashSet<>(4);
                         result.put(dataID, collection);
                     }
                     collection.add(data);
                 }
                 key = null;
             }
-            else if (((c >= '0') && (c <= '9')) || ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z')) || (c == '_') || (c == '.') || (c == ':'))
+            else if ((c == '<') && (lastChar == '$'))
+            {
+                depth++;
+                key.append(c);
+            }
+            else if (((c >= '0') && (c <= '9')) || ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z')) || (c == '_') || (c == '.') || (c == ':') || (c == ',') || (c == '-') || (c == '$'))
             {
                 key.append(c);
             }
             else
             {
                 key = null;
+                depth = 0;
             }
             lastChar = c;
         }
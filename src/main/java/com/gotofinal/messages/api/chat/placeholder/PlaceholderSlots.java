@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.chat.placeholder;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact read-only map of placeholders grouped by object name, stored in arrays indexed by object slot. <br>
+ * Used by compiled messages instead of sparse hash maps returned by {@link PlaceholderData#parseString}, names are resolved by linear search,
+ * as messages use only few placeholder objects.
+ */
+public final class PlaceholderSlots extends AbstractMap<String, Collection<PlaceholderData<?>>>
+{
+    /**
+     * Empty placeholders, shared by all messages without placeholders.
+     */
+    public static final PlaceholderSlots EMPTY = new PlaceholderSlots(new String[0], new PlaceholderData<?>[0][]);
+
+    private final String[]               names;
+    private final PlaceholderData<?>[][] data;
+
+    private PlaceholderSlots(final String[] names, final PlaceholderData<?>[][] data)
+    {
+        this.names = names;
+        this.data = data;
+    }
+
+    /**
+     * Returns compact copy of given placeholders, or this same instance if given map is already compact.
+     *
+     * @param placeholders placeholders grouped by object name, may be null.
+     *
+     * @return compact copy of given placeholders.
+     */
+    public static PlaceholderSlots of(final Map<String, Collection<PlaceholderData<?>>> placeholders)
+    {
+        if (placeholders instanceof PlaceholderSlots)
+        {
+            return (PlaceholderSlots) placeholders;
+        }
+        if ((placeholders == null) || placeholders.isEmpty())
+        {
+            return EMPTY;
+        }
+        final String[] names = new String[placeholders.size()];
+        final PlaceholderData<?>[][] data = new PlaceholderData<?>[names.length][];
+        int i = 0;
+        for (final Entry<String, Collection<PlaceholderData<?>>> entry : placeholders.entrySet())
+        {
+            names[i] = entry.getKey();
+            data[i++] = entry.getValue().toArray(new PlaceholderData<?>[entry.getValue().size()]);
+        }
+        return new PlaceholderSlots(names, data);
+    }
+
+    /**
+     * Returns slot of given object name, or -1 if there is no placeholders for this object.
+     *
+     * @param name name of object.
+     *
+     * @return slot of given object name.
+     */
+    public int indexOf(final Object name)
+    {
+        for (int i = 0; i < this.names.length; i++)
+        {
+            if (this.names[i].equals(name))
+            {
+                return i;
+            }
+        }
+        return - 1;
+    }
+
+    /**
+     * Returns name of object in given slot.
+     *
+     * @param slot slot of object.
+     *
+     * @return name of object.
+     */
+    public String getName(final int slot)
+    {
+        return this.names[slot];
+    }
+
+    /**
+     * Returns placeholders of object in given slot.
+     *
+     * @param slot slot of object.
+     *
+     * @return placeholders of object, returned array must not be edited.
+     */
+    public PlaceholderData<?>[] getData(final int slot)
+    {
+        return this.data[slot];
+    }
+
+    @Override
+    public int size()
+    {
+        return this.names.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key)
+    {
+        return this.indexOf(key) != - 1;
+    }
+
+    @Override
+    public Collection<PlaceholderData<?>> get(final Object key)
+    {
+        final int index = this.indexOf(key);
+        return (index == - 1) ? null : this.values(index);
+    }
+
+    @Override
+    public Set<Entry<String, Collection<PlaceholderData<?>>>> entrySet()
+    {
+        return new AbstractSet<Entry<String, Collection<PlaceholderData<?>>>>()
+        {
+            @Override
+            public Iterator<Entry<String, Collection<PlaceholderData<?>>>> iterator()
+            {
+                return new Iterator<Entry<String, Collection<PlaceholderData<?>>>>()
+                {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return this.index < PlaceholderSlots.this.names.length;
+                    }
+
+                    @Override
+                    public Entry<String, Collection<PlaceholderData<?>>> next()
+                    {
+                        if (! this.hasNext())
+                        {
+                            throw new NoSuchElementException();
+                        }
+                        final int slot = this.index++;
+                        return new SimpleImmutableEntry<>(PlaceholderSlots.this.names[slot], PlaceholderSlots.this.values(slot));
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return PlaceholderSlots.this.names.length;
+            }
+        };
+    }
+
+    private Collection<PlaceholderData<?>> values(final int slot)
+    {
+        return Collections.unmodifiableList(Arrays.asList(this.data[slot]));
+    }
+}
@@ -27,16 +27,21 @@ package com.gotofinal.messages.api.chat.placeholder;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.google.common.collect.Sets;
 import com.gotofinal.messages.api.chat.component.BaseComponent;
 
+import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
@@ -49,8 +54,8 @@ import org.apache.commons.lang3.builder.ToStringStyle;
  */
 public class PlaceholderType<T>
 {
-    private static final Map<String, PlaceholderType<?>>       types       = new HashMap<>(5, .1f);
-    private static final Map<String, GlobalPlaceholderType<?>> globalTypes = new HashMap<>(5, .1f);
+    private static final Map<String, PlaceholderType<?>>       types       = new ConcurrentHashMap<>(5, .1f, 1);
+    private static final Map<String, GlobalPlaceholderType<?>> globalTypes = new ConcurrentHashMap<>(5, .1f, 1);
 
     /**
      * {@link Object} placeholder type, used by simple placeholders without any type, like just "points" instead of some object like "player.points"
@@ -80,7 +85,8 @@ public class PlaceholderType<T>
 
     /**
      * Replace global placeholders in given component. <br>
-     * Used by message implementation classes.
+     * Used by message implementation classes. <br>
+     * Only global types used by given placeholders are checked, and if there is none of them, given component is returned without duplicating it.
      *
      * @param component    message with placeholders.
      * @param placeholders placeholders in message.
@@ -90,23 +96,45 @@ public class PlaceholderType<T>
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static BaseComponent replaceGlobal(BaseComponent component, final Map<String, Collection<PlaceholderData<?>>> placeholders)
     {
-        component = component.duplicate();
-        for (final Entry<String, GlobalPlaceholderType<?>> entry : globalTypes.entrySet())
+        Map<String, Object> replacements = null;
+        for (final Entry<String, Collection<PlaceholderData<?>>> entry : placeholders.entrySet())
         {
-            final Collection<PlaceholderData<?>> placeholderDatas = placeholders.get(entry.getKey());
-            if (placeholderDatas == null)
+            final GlobalPlaceholderType<?> global = globalTypes.get(entry.getKey());
+            if (global == null)
             {
                 continue;
             }
-            final Object o = entry.getValue().globalSupplier.get();
-            for (final PlaceholderData placeholderData : placeholderDatas)
+            if (replacements == null)
+            {
+                replacements = new HashMap<>(8);
+            }
+            final Object o = global.getValue();
+            for (final PlaceholderData placeholderData : entry.getValue())
             {
-                placeholderData.replace(component, o);
+                replacements.put(placeholderData.getFullName(), placeholderData.apply(o));
             }
         }
+        if (replacements == null)
+        {
+            return component;
+        }
+        component = component.duplicate();
+        component.replaceAll(replacements);
         return component;
     }
 
+    /**
+     * Get global placeholder type by id.
+     *
+     * @param id id of global placeholder type.
+     *
+     * @return global placeholder type or null.
+     */
+    static GlobalPlaceholderType<?> getGlobal(final String id)
+    {
+        return globalTypes.get(id);
+    }
+
     /**
      * Get placeholder by id, note: this don't check any types.
      *
@@ -123,9 +151,11 @@ public class PlaceholderType<T>
 
     private final String   id;
     private final Class<T> type;
-    private final Map<String, PlaceholderItem<T>>         items            = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-    private final Map<String, ChildPlaceholderItem<?, ?>> cachedChildItems = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-    private final Map<String, ChildPlaceholderType<?, ?>> childTypes       = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    // case insensitive like equalsIgnoreCase, independent of default locale, and lock-free for lookups
+    private final Map<String, PlaceholderItem<T>>           items            = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, ChildPlaceholderItem<?, ?>>   cachedChildItems = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, ChildPlaceholderType<?, ?>>   childTypes       = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Optional<PlaceholderItem<T>>> memberItems      = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
     private final Set<PlaceholderType<? super T>> superTypes;
 
     /**
@@ -227,11 +257,15 @@ public class PlaceholderType<T>
     /**
      * Returns item for given id, or null if there isn't any item with maching name. <br>
      * If there is no maching item in this types, method will try get maching item from one
-     * of super types.
+     * of super types. <br>
+     * At the end public getter or field of type class with given name is used, like "getFoodLevel", "foodLevel" or "health",
+     * see {@link MemberPlaceholderItems}.
      *
      * @param id id of item, like "name" for player.name.
      *
      * @return placeholder item or null.
+     *
+     * @throws IllegalStateException if there is matching public getter or field, but it can't be bound.
      */
     public PlaceholderItem<?> getItem(final String id)
     {
@@ -264,7 +298,7 @@ public class PlaceholderType<T>
             final int index = id.indexOf('.');
             if (index == - 1)
             {
-                return null;
+                return this.getMemberItem(id);
             }
             final String childTypeID = id.substring(0, index);
             final ChildPlaceholderType<?, ?> childType = this.childTypes.get(childTypeID);
@@ -274,12 +308,27 @@ public class PlaceholderType<T>
             }
             //noinspection unchecked, rawtypes
             final ChildPlaceholderItem<?, ?> childItem = new ChildPlaceholderItem(childType, childType.type.getItem(id.substring(index + 1)));
-            item = childItem;
-            this.cachedChildItems.put(id, childItem);
+            final ChildPlaceholderItem<?, ?> cached = this.cachedChildItems.putIfAbsent(id, childItem);
+            item = (cached == null) ? childItem : cached;
         }
         return item;
     }
 
+    private PlaceholderItem<T> getMemberItem(final String id)
+    {
+        Optional<PlaceholderItem<T>> item = this.memberItems.get(id);
+        if (item == null)
+        {
+            item = Optional.ofNullable(MemberPlaceholderItems.bind(this, id));
+            final Optional<PlaceholderItem<T>> cached = this.memberItems.putIfAbsent(id, item);
+            if (cached != null)
+            {
+                item = cached;
+            }
+        }
+        return item.orElse(null);
+    }
+
     /**
      * Returns id of this type, like "player" for player.name.
      *
@@ -364,7 +413,9 @@ public class PlaceholderType<T>
         @Override
         public Object apply(final PARENT obj, final Object[] args)
         {
-            return this.item.apply(this.type.function.apply(obj), args);
+            final RenderMemo memo = RenderMemo.get();
+            final CHILD child = (memo == null) ? this.type.function.apply(obj) : memo.convert(this.type.function, obj);
+            return this.item.apply(child, args);
         }
     }
 
@@ -388,9 +439,19 @@ public class PlaceholderType<T>
         }
     }
 
-    static class GlobalPlaceholderType<T> extends PlaceholderType<T>
+    /**
+     * Placeholder type with single global object, like server, object is fetched from global supplier. <br>
+     * Fetched object is kept as snapshot and reused by all renders until it is refreshed by selected {@link RefreshPolicy},
+     * snapshot is read without any locks, and when it expires, it may be fetched by few renderers at once.
+     *
+     * @param <T> type of placeholder object.
+     */
+    public static class GlobalPlaceholderType<T> extends PlaceholderType<T>
     {
         protected final Supplier<T> globalSupplier;
+        private volatile RefreshPolicy refreshPolicy = RefreshPolicy.ALWAYS;
+        private volatile long          refreshNanos;
+        private volatile Snapshot<T>   snapshot;
 
         GlobalPlaceholderType(final String id, final Class<T> type, final Supplier<T> globalSupplier)
         {
@@ -411,13 +472,165 @@ public class PlaceholderType<T>
             this.globalSupplier = globalSupplier;
         }
 
+        /**
+         * Returns current global object, from snapshot if it is still valid for used {@link RefreshPolicy}.
+         *
+         * @return current global object.
+         */
+        public T getValue()
+        {
+            final RefreshPolicy refreshPolicy = this.refreshPolicy;
+            if (refreshPolicy == RefreshPolicy.ALWAYS)
+            {
+                return this.globalSupplier.get();
+            }
+            final Snapshot<T> snapshot = this.snapshot;
+            final long now = System.nanoTime();
+            if ((snapshot != null) && ((now - snapshot.expiresAt) < 0))
+            {
+                return snapshot.value;
+            }
+            final T value = this.globalSupplier.get();
+            final long expiresAt;
+            switch (refreshPolicy)
+            {
+                case WINDOW:
+                    expiresAt = (Math.floorDiv(now, this.refreshNanos) + 1) * this.refreshNanos;
+                    break;
+                case TIME:
+                    expiresAt = now + this.refreshNanos;
+                    break;
+                default:
+                    expiresAt = now + Long.MAX_VALUE;
+                    break;
+            }
+            this.snapshot = new Snapshot<>(value, expiresAt);
+            return value;
+        }
+
+        /**
+         * Returns used refresh policy of global object.
+         *
+         * @return used refresh policy.
+         */
+        public RefreshPolicy getRefreshPolicy()
+        {
+            return this.refreshPolicy;
+        }
+
+        /**
+         * Fetch global object on each use, without any snapshot, this is default policy.
+         *
+         * @return this same type.
+         */
+        public GlobalPlaceholderType<T> refreshAlways()
+        {
+            return this.setRefreshPolicy(RefreshPolicy.ALWAYS, 0);
+        }
+
+        /**
+         * Fetch global object at most once per fixed time window of given length, like 50 milliseconds. <br>
+         * Windows are aligned to {@link System#nanoTime()}, not to server ticks, so when server is lagging object may be fetched few times in single tick.
+         *
+         * @param time length of time window.
+         * @param unit unit of time.
+         *
+         * @return this same type.
+         */
+        public GlobalPlaceholderType<T> refreshEveryWindow(final long time, final TimeUnit unit)
+        {
+            Validate.isTrue(time > 0, "Time must be positive: %s", time);
+            return this.setRefreshPolicy(RefreshPolicy.WINDOW, unit.toNanos(time));
+        }
+
+        /**
+         * Fetch global object again when given time passed since last fetch.
+         *
+         * @param time time to live of snapshot.
+         * @param unit unit of time.
+         *
+         * @return this same type.
+         */
+        public GlobalPlaceholderType<T> refreshAfter(final long time, final TimeUnit unit)
+        {
+            Validate.isTrue(time > 0, "Time must be positive: %s", time);
+            return this.setRefreshPolicy(RefreshPolicy.TIME, unit.toNanos(time));
+        }
+
+        /**
+         * Keep snapshot of global object until {@link #invalidate()} is called.
+         *
+         * @return this same type.
+         */
+        public GlobalPlaceholderType<T> refreshOnInvalidate()
+        {
+            return this.setRefreshPolicy(RefreshPolicy.INVALIDATE, 0);
+        }
+
+        /**
+         * Drop current snapshot, so global object will be fetched again on next use.
+         */
+        public void invalidate()
+        {
+            this.snapshot = null;
+        }
+
+        private GlobalPlaceholderType<T> setRefreshPolicy(final RefreshPolicy refreshPolicy, final long refreshNanos)
+        {
+            this.refreshNanos = refreshNanos;
+            this.refreshPolicy = refreshPolicy;
+            this.snapshot = null;
+            return this;
+        }
+
         @Override
         public String toString()
         {
-            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("globalSupplier", this.globalSupplier).toString();
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("globalSupplier", this.globalSupplier).append("refreshPolicy", this.refreshPolicy).toString();
+        }
+
+        private static final class Snapshot<T>
+        {
+            private final T    value;
+            private final long expiresAt;
+
+            private Snapshot(final T value, final long expiresAt)
+            {
+                this.value = value;
+                this.expiresAt = expiresAt;
+            }
+
+            @Override
+            public String toString()
+            {
+                return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("value", this.value).append("expiresAt", this.expiresAt).toString();
+            }
         }
     }
 
+    /**
+     * Policy used to refresh snapshot of global object, see {@link GlobalPlaceholderType}.
+     */
+    public enum RefreshPolicy
+    {
+        /**
+         * Global object is fetched on each use.
+         */
+        ALWAYS,
+        /**
+         * Global object is fetched at most once per fixed time window, windows use wall-clock time and are not synchronized with server ticks.
+         */
+        WINDOW,
+        /**
+         * Global object is fetched again after selected time.
+         */
+        TIME,
+        /**
+         * Global object is fetched again only after snapshot is invalidated.
+         */
+        INVALIDATE
+    }
+
     private static class CIStringWrapper
     {
         private final String wrapped;
@@ -452,7 +665,7 @@ public class PlaceholderType<T>
         @Override
         public int hashCode()
         {
-            return this.wrapped.toLowerCase().hashCode();
+            return this.wrapped.toLowerCase(Locale.ROOT).hashCode();
         }
 
         @Override
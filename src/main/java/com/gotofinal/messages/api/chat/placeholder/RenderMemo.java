@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.chat.placeholder;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Results of placeholder items and child converters of current render, so each distinct item and converter is evaluated at most once
+ * for each object in single render, like {@code Entity::getLocation} for $&lt;player.loc.x&gt; and $&lt;player.loc.y&gt;. <br>
+ * Objects are compared by identity, and all results are cleared after render.
+ */
+final class RenderMemo
+{
+    private static final ThreadLocal<RenderMemo> current = ThreadLocal.withInitial(RenderMemo::new);
+
+    private Object[] functions = new Object[8];
+    private Object[] objects   = new Object[8];
+    private Object[] results   = new Object[8];
+    private int      size;
+    private int      depth;
+
+    private String[][] scopeNames   = new String[4][];
+    private Object[][] scopeObjects = new Object[4][];
+
+    private RenderMemo()
+    {
+    }
+
+    /**
+     * Start render on current thread, renders may be nested. <br>
+     * Given names and objects are used to find objects of nested placeholders until render ends, see {@link #lookup(String)}.
+     *
+     * @param names   names of objects used by rendered template.
+     * @param objects objects for each name, null if object is missing.
+     *
+     * @return memo of current thread.
+     */
+    static RenderMemo begin(final String[] names, final Object[] objects)
+    {
+        final RenderMemo memo = current.get();
+        if (memo.depth == memo.scopeNames.length)
+        {
+            memo.scopeNames = Arrays.copyOf(memo.scopeNames, memo.depth << 1);
+            memo.scopeObjects = Arrays.copyOf(memo.scopeObjects, memo.depth << 1);
+        }
+        memo.scopeNames[memo.depth] = names;
+        memo.scopeObjects[memo.depth++] = objects;
+        return memo;
+    }
+
+    /**
+     * Returns memo of render on current thread, or null if nothing is rendered.
+     *
+     * @return memo of current render or null.
+     */
+    static RenderMemo get()
+    {
+        final RenderMemo memo = current.get();
+        return (memo.depth == 0) ? null : memo;
+    }
+
+    /**
+     * End render started by {@link #begin(String[], Object[])}, results are cleared after outermost render.
+     */
+    void end()
+    {
+        this.scopeNames[--this.depth] = null;
+        this.scopeObjects[this.depth] = null;
+        if (this.depth == 0)
+        {
+            Arrays.fill(this.functions, 0, this.size, null);
+            Arrays.fill(this.objects, 0, this.size, null);
+            Arrays.fill(this.results, 0, this.size, null);
+            this.size = 0;
+        }
+    }
+
+    /**
+     * Returns result of given child converter for given object.
+     *
+     * @param function child converter.
+     * @param obj      parent object.
+     * @param <P>      type of parent object.
+     * @param <C>      type of child object.
+     *
+     * @return child object.
+     */
+    @SuppressWarnings("unchecked")
+    <P, C> C convert(final Function<P, C> function, final P obj)
+    {
+        final int index = this.indexOf(function, obj);
+        if (index != - 1)
+        {
+            return (C) this.results[index];
+        }
+        final C result = function.apply(obj);
+        this.add(function, obj, result);
+        return result;
+    }
+
+    /**
+     * Returns result of given placeholder item without arguments for given object.
+     *
+     * @param item placeholder item.
+     * @param obj  object used by item.
+     * @param <T>  type of object.
+     *
+     * @return result of item.
+     */
+    <T> Object apply(final PlaceholderItem<T> item, final T obj)
+    {
+        final int index = this.indexOf(item, obj);
+        if (index != - 1)
+        {
+            return this.results[index];
+        }
+        final Object result = item.apply(obj, PlaceholderData.EMPTY_OBJECTS);
+        this.add(item, obj, result);
+        return result;
+    }
+
+    /**
+     * Returns object with given name from innermost render.
+     *
+     * @param name name of object, like "player" for $&lt;player.name&gt;.
+     *
+     * @return object with given name or null if there is no such object.
+     */
+    Object lookup(final String name)
+    {
+        final String[] names = this.scopeNames[this.depth - 1];
+        for (int i = 0; i < names.length; i++)
+        {
+            if (names[i].equals(name))
+            {
+                return this.scopeObjects[this.depth - 1][i];
+            }
+        }
+        return null;
+    }
+
+    private int indexOf(final Object function, final Object obj)
+    {
+        for (int i = 0; i < this.size; i++)
+        {
+            if ((this.functions[i] == function) && (this.objects[i] == obj))
+            {
+                return i;
+            }
+        }
+        return - 1;
+    }
+
+    private void add(final Object function, final Object obj, final Object result)
+    {
+        if (this.size == this.functions.length)
+        {
+            this.functions = Arrays.copyOf(this.functions, this.size << 1);
+            this.objects = Arrays.copyOf(this.objects, this.size << 1);
+            this.results = Arrays.copyOf(this.results, this.size << 1);
+        }
+        this.functions[this.size] = function;
+        this.objects[this.size] = obj;
+        this.results[this.size++] = result;
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.messages;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+
+import com.gotofinal.messages.api.MessagesAPI;
+import com.gotofinal.messages.api.chat.component.BaseComponent;
+import com.gotofinal.messages.api.chat.component.serialize.BinaryComponentSerializer;
+import com.gotofinal.messages.api.messages.Messages.MessagePack;
+
+/**
+ * Binary cache of compiled messages, stores parsed components of each message with all used placeholders, so messages can be loaded
+ * without parsing yaml, json and legacy text again. <br>
+ * Cache file contains hash of source files, and is used only when hash matches, and ends with CRC32 checksum of whole file, so corrupted
+ * files are detected before reading any message. <br>
+ * Cache stores compiled messages only, so it isn't used by lazy loaders, see {@link MessageLoader#setCacheFile(File)}.
+ */
+final class CompiledMessagesCache
+{
+    private static final int MAGIC   = 0x4D534743;
+    private static final int VERSION = 3;
+
+    private static final byte SINGLE = 0;
+    private static final byte RANDOM = 1;
+
+    private CompiledMessagesCache()
+    {
+    }
+
+    /**
+     * Write all messages from given node to given cache file.
+     *
+     * @param file     cache file.
+     * @param hash     hash of source files.
+     * @param messages messages to write.
+     *
+     * @return false if some of messages can't be stored in cache, then cache isn't written.
+     *
+     * @throws IOException if write fails.
+     */
+    static boolean write(final File file, final byte[] hash, final Messages messages) throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(hash.length);
+        output.write(hash);
+        if (! writeNode(output, messages))
+        {
+            return false;
+        }
+        output.flush();
+        final CRC32 checksum = new CRC32();
+        checksum.update(bytes.toByteArray());
+        output.writeInt((int) checksum.getValue());
+        output.flush();
+
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null)
+        {
+            parent.mkdirs();
+        }
+        final File tmp = new File(parent, file.getName() + ".tmp");
+        Files.write(tmp.toPath(), bytes.toByteArray());
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    /**
+     * Read all messages from given cache file to given node, if file exists and was created for this same hash. <br>
+     * If cache file is corrupted, node is restored to state from before read, so no partially read messages are left in it.
+     *
+     * @param file cache file.
+     * @param hash hash of source files.
+     * @param node node where messages will be added.
+     *
+     * @return true if messages were loaded from cache.
+     *
+     * @throws IOException if read fails or cache file is corrupted.
+     */
+    static boolean read(final File file, final byte[] hash, final Messages node) throws IOException
+    {
+        if (! file.isFile())
+        {
+            return false;
+        }
+        // read to heap buffer instead of mapping file, mapped file can't be replaced on some systems until buffer is collected.
+        final ByteBuffer buffer;
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                return false;
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && (channel.read(buffer) != - 1))
+            {
+            }
+        }
+        buffer.flip();
+        if (buffer.remaining() < 4)
+        {
+            return false;
+        }
+        final int dataSize = buffer.remaining() - 4;
+        final CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), 0, dataSize);
+        if (buffer.getInt(dataSize) != (int) checksum.getValue())
+        {
+            throw new IOException("Corrupted compiled messages cache, invalid checksum: " + file);
+        }
+        buffer.limit(dataSize);
+        final DataInputStream input = new DataInputStream(new ByteBufferInputStream(buffer));
+        if ((input.readInt() != MAGIC) || (input.readInt() != VERSION))
+        {
+            return false;
+        }
+        final byte[] fileHash = new byte[input.readInt()];
+        input.readFully(fileHash);
+        if (! Arrays.equals(hash, fileHash))
+        {
+            return false;
+        }
+        final Map<String, Message> messages = new HashMap<>(node.getMessagesMap());
+        final Map<String, Messages> nodes = new HashMap<>(node.getNodesMap());
+        try
+        {
+            readNode(input, node);
+        } catch (final IOException | RuntimeException e)
+        {
+            node.restore(messages, nodes);
+            throw new IOException("Corrupted compiled messages cache: " + file, e);
+        }
+        return true;
+    }
+
+    private static boolean writeNode(final DataOutput output, final Messages node) throws IOException
+    {
+        final Map<String, Message> messages = node.getMessagesMap();
+        output.writeInt(messages.size());
+        for (final Entry<String, Message> entry : messages.entrySet())
+        {
+            final Message message = entry.getValue().getCompiled();
+            BinaryComponentSerializer.writeString(output, entry.getKey());
+            if (! message.isEnabled())
+            {
+                output.writeBoolean(false);
+                continue;
+            }
+            final Map<Locale, Object> components = message.getComponents();
+            if (components == null)
+            {
+                return false;
+            }
+            output.writeBoolean(true);
+            BinaryComponentSerializer.writeString(output, message.getPlaceholdersSource());
+            output.writeInt(components.size());
+            for (final Entry<Locale, Object> localeEntry : components.entrySet())
+            {
+                BinaryComponentSerializer.writeString(output, localeEntry.getKey().toLanguageTag());
+                final Object value = localeEntry.getValue();
+                if (value instanceof BaseComponent[])
+                {
+                    final BaseComponent[] array = (BaseComponent[]) value;
+                    output.writeByte(RANDOM);
+                    output.writeInt(array.length);
+                    for (final BaseComponent component : array)
+                    {
+                        BinaryComponentSerializer.write(output, component);
+                    }
+                }
+                else
+                {
+                    output.writeByte(SINGLE);
+                    BinaryComponentSerializer.write(output, (BaseComponent) value);
+                }
+            }
+        }
+        final Map<String, Messages> nodes = node.getNodesMap();
+        output.writeInt(nodes.size());
+        for (final Entry<String, Messages> entry : nodes.entrySet())
+        {
+            BinaryComponentSerializer.writeString(output, entry.getKey());
+            if (! writeNode(output, entry.getValue()))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void readNode(final DataInput input, final Messages node) throws IOException
+    {
+        final MessagesAPI api = node.getApi();
+        final int messagesCount = input.readInt();
+        for (int i = 0; i < messagesCount; i++)
+        {
+            final String name = BinaryComponentSerializer.readString(input);
+            if (! input.readBoolean())
+            {
+                node.addMessage(Message.loadCompiled(api, null, null), new String[]{name});
+                continue;
+            }
+            final String placeholders = BinaryComponentSerializer.readString(input);
+            final int localesCount = input.readInt();
+            final Map<Locale, Object> components = new HashMap<>(localesCount);
+            for (int j = 0; j < localesCount; j++)
+            {
+                final Locale locale = getLocale(api, BinaryComponentSerializer.readString(input));
+                if (input.readByte() == RANDOM)
+                {
+                    final BaseComponent[] array = new BaseComponent[input.readInt()];
+                    for (int k = 0; k < array.length; k++)
+                    {
+                        array[k] = BinaryComponentSerializer.read(input);
+                    }
+                    components.put(locale, array);
+                }
+                else
+                {
+                    components.put(locale, BinaryComponentSerializer.read(input));
+                }
+            }
+            node.addMessage(Message.loadCompiled(api, placeholders, components), new String[]{name});
+        }
+        final int nodesCount = input.readInt();
+        for (int i = 0; i < nodesCount; i++)
+        {
+            final MessagePack pack = new MessagePack(node, BinaryComponentSerializer.readString(input));
+            readNode(input, pack);
+            node.addNode(pack);
+        }
+    }
+
+    private static Locale getLocale(final MessagesAPI api, final String tag)
+    {
+        for (final Locale locale : api.getLanguages())
+        {
+            if (locale.toLanguageTag().equals(tag))
+            {
+                return locale;
+            }
+        }
+        return Locale.forLanguageTag(tag);
+    }
+
+    private static final class ByteBufferInputStream extends InputStream
+    {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read()
+        {
+            if (! this.buffer.hasRemaining())
+            {
+                return - 1;
+            }
+            return this.buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len)
+        {
+            if (! this.buffer.hasRemaining())
+            {
+                return - 1;
+            }
+            final int toRead = Math.min(len, this.buffer.remaining());
+            this.buffer.get(bytes, off, toRead);
+            return toRead;
+        }
+
+        @Override
+        public int available()
+        {
+            return this.buffer.remaining();
+        }
+    }
+}
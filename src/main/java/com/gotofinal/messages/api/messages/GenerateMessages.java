@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.messages;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generate typed accessors for all messages from given default language file, generated class is placed in package of annotated type. <br>
+ * Each message gets own methods with positional arguments for each placeholder object, bound directly to compiled placeholder slots
+ * by {@link MessageSignature}, so there is no path lookup or {@link Message.MessageData} on each send. <br>
+ * Requires messages-processor on annotation processor path.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateMessages
+{
+    /**
+     * Returns resource path of default language file, like "lang/messages_en-US.yml", same file as used by
+     * {@link MessageLoader#loadMessages(String, java.io.File, Class, String)}.
+     *
+     * @return resource path of default language file.
+     */
+    String value();
+
+    /**
+     * Returns simple name of generated class, by default name of annotated type with "Messages" suffix.
+     *
+     * @return simple name of generated class.
+     */
+    String className() default "";
+
+    /**
+     * Returns separator of message path nodes used by messages instance.
+     *
+     * @return separator of message path nodes.
+     */
+    char separator() default '.';
+
+    /**
+     * Returns names of global placeholder objects, they don't need own arguments.
+     *
+     * @return names of global placeholder objects.
+     */
+    String[] globals() default {};
+
+    /**
+     * Returns java types of placeholder types, arguments of other types use {@link Object}.
+     *
+     * @return java types of placeholder types.
+     */
+    Type[] types() default {};
+
+    /**
+     * Java type of arguments for placeholder type.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target({})
+    @interface Type
+    {
+        /**
+         * Returns id of placeholder type, like "player" for $&lt;player.name&gt; and $&lt;player:killer.name&gt;.
+         *
+         * @return id of placeholder type.
+         */
+        String name();
+
+        /**
+         * Returns java type of arguments for this placeholder type.
+         *
+         * @return java type of arguments.
+         */
+        Class<?> value();
+    }
+}
@@ -25,6 +25,7 @@
 package com.gotofinal.messages.api.messages;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -33,14 +34,19 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 import com.gotofinal.messages.api.MessageReceiver;
 import com.gotofinal.messages.api.MessagesAPI;
+import com.gotofinal.messages.api.PreparedComponent;
 import com.gotofinal.messages.api.chat.ChatColor;
 import com.gotofinal.messages.api.chat.component.BaseComponent;
 import com.gotofinal.messages.api.chat.component.serialize.ComponentSerializer;
+import com.gotofinal.messages.api.chat.placeholder.ComponentTemplate;
 import com.gotofinal.messages.api.chat.placeholder.PlaceholderData;
-import com.gotofinal.messages.api.chat.placeholder.PlaceholderType;
+import com.gotofinal.messages.api.chat.placeholder.PlaceholderSlots;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -53,6 +59,9 @@ public abstract class Message
      * Instance of random for all messages.
      */
     protected static final Random random = new Random();
+
+    private static final Object[] EMPTY_VALUES    = new Object[0];
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
     /**
      * Owner api instance.
      */
@@ -61,17 +70,21 @@ public abstract class Message
      * Used to store placeholders used in this message.
      */
     protected final Map<String, Collection<PlaceholderData<?>>> placeholders;
+    /**
+     * Optional cache of rendered components, null if disabled.
+     */
+    protected volatile RenderCache                              renderCache;
 
     /**
      * Construct new message with given placeholders.
      *
      * @param api          instance of api that owns this message.
-     * @param placeholders placeholders used in this message.
+     * @param placeholders placeholders used in this message, stored as compact {@link PlaceholderSlots}.
      */
     protected Message(final MessagesAPI api, final Map<String, Collection<PlaceholderData<?>>> placeholders)
     {
         this.api = api;
-        this.placeholders = placeholders;
+        this.placeholders = PlaceholderSlots.of(placeholders);
     }
 
     /**
@@ -137,6 +150,79 @@ public abstract class Message
         return new LocalizedMixedMessage(api, mapA, mapB);
     }
 
+    /**
+     * Create message for given map of locales and objects (string, array or collection) that is compiled on first use, used
+     * to load message from language files in lazy mode.
+     *
+     * @param objects map of locales and objects (string, array or collection).
+     *
+     * @return message that will be loaded on first use.
+     *
+     * @see #load(MessagesAPI, Map)
+     */
+    static Message loadLazy(final MessagesAPI api, final Map<Locale, Object> objects)
+    {
+        if (objects.isEmpty())
+        {
+            throw new RuntimeException("No languages enabled... " + objects);
+        }
+        return new LazyMessage(api, objects);
+    }
+
+    /**
+     * Load message from already parsed components, used to load messages from compiled cache.
+     *
+     * @param placeholders source of placeholders used in message, like returned by {@link #getPlaceholdersSource()}.
+     * @param components   map of locales and components ({@link BaseComponent} or array of them), or null for disabled message.
+     *
+     * @return Loaded message.
+     *
+     * @see #getComponents()
+     */
+    static Message loadCompiled(final MessagesAPI api, final String placeholders, final Map<Locale, Object> components)
+    {
+        if (components == null)
+        {
+            return new DisabledMessage(api);
+        }
+        if (components.isEmpty())
+        {
+            throw new RuntimeException("No languages enabled... " + components);
+        }
+        final Map<String, Collection<PlaceholderData<?>>> placeholderData = PlaceholderData.parseString(api, placeholders, true);
+        if (components.size() == 1)
+        {
+            final Object obj = components.values().iterator().next();
+            if (obj instanceof BaseComponent[])
+            {
+                return new SimpleRandomMessage(api, placeholderData, (BaseComponent[]) obj);
+            }
+            return new SimpleMessage(api, placeholderData, (BaseComponent) obj);
+        }
+        final Map<Locale, BaseComponent> mapA = new HashMap<>(components.size());
+        final Map<Locale, BaseComponent[]> mapB = new HashMap<>(components.size());
+        for (final Entry<Locale, Object> entry : components.entrySet())
+        {
+            if (entry.getValue() instanceof BaseComponent[])
+            {
+                mapB.put(entry.getKey(), (BaseComponent[]) entry.getValue());
+            }
+            else
+            {
+                mapA.put(entry.getKey(), (BaseComponent) entry.getValue());
+            }
+        }
+        if (mapA.isEmpty())
+        {
+            return new LocalizedRandomMessage(api, placeholderData, mapB);
+        }
+        if (mapB.isEmpty())
+        {
+            return new LocalizedMessage(api, placeholderData, mapA);
+        }
+        return new LocalizedMixedMessage(api, placeholderData, mapA, mapB);
+    }
+
     /**
      * Load message for given object (string, array or collection), used
      * to load message from language file (only when only one language is used).
@@ -174,14 +260,113 @@ public abstract class Message
     }
 
     /**
-     * Get BaseComponent to send, may return null if message is disabled.
+     * Get BaseComponent to send, may return null if message is disabled. <br>
+     * Returned component is always fully editable copy.
      *
      * @param lang language to use if possible.
      * @param data placeholder objects to use.
      *
      * @return BaseComponent to send or null if disabled.
      */
-    public abstract BaseComponent get(Locale lang, MessageData... data);
+    public BaseComponent get(final Locale lang, final MessageData... data)
+    {
+        final ComponentTemplate template = this.select(lang);
+        if (template == null)
+        {
+            return null;
+        }
+        return this.render(template, data);
+    }
+
+    /**
+     * Get component prepared to send, may return null if message is disabled. <br>
+     * Messages without placeholders always return this same prepared component for each template, so it is converted to platform component only once.
+     *
+     * @param lang language to use if possible.
+     * @param data placeholder objects to use.
+     *
+     * @return PreparedComponent to send or null if disabled.
+     */
+    public PreparedComponent prepare(final Locale lang, final MessageData... data)
+    {
+        final ComponentTemplate template = this.select(lang);
+        if (template == null)
+        {
+            final BaseComponent component = this.get(lang, data);
+            return (component == null) ? null : new PreparedComponent(component);
+        }
+        return this.renderPrepared(template, data);
+    }
+
+    /**
+     * Get component prepared to send using positional arguments, may return null if message is disabled. <br>
+     * Arguments are bound directly to placeholder slots of compiled template, without any lookups by name.
+     *
+     * @param lang      language to use if possible.
+     * @param signature names of placeholder objects given as arguments.
+     * @param args      placeholder objects in order of signature.
+     *
+     * @return PreparedComponent to send or null if disabled.
+     */
+    public PreparedComponent prepare(final Locale lang, final MessageSignature signature, final Object... args)
+    {
+        final ComponentTemplate template = this.select(lang);
+        if (template == null)
+        {
+            return this.prepare(lang, signature.toData(args));
+        }
+        if (template.isStatic())
+        {
+            return template.prepare(EMPTY_VALUES);
+        }
+        final int[] binding = template.bind(signature.getNames());
+        final Object[] objects = new Object[binding.length];
+        for (int i = 0; i < binding.length; i++)
+        {
+            final int index = binding[i];
+            if ((index != - 1) && (index < args.length))
+            {
+                objects[i] = args[index];
+            }
+        }
+        return this.renderValues(template, template.apply(objects));
+    }
+
+    /**
+     * Get component prepared to send using objects from given context, may return null if message is disabled. <br>
+     * Objects are bound to placeholder slots without allocating any arrays or data objects.
+     *
+     * @param lang    language to use if possible.
+     * @param context placeholder objects to use.
+     *
+     * @return PreparedComponent to send or null if disabled.
+     */
+    public PreparedComponent prepareWith(final Locale lang, final MessageContext context)
+    {
+        final ComponentTemplate template = this.select(lang);
+        if (template == null)
+        {
+            return this.prepare(lang, context.toData());
+        }
+        if (template.isStatic())
+        {
+            return template.prepare(EMPTY_VALUES);
+        }
+        return this.renderValues(template, context.apply(template));
+    }
+
+    /**
+     * Select template to use for given language, random messages select random template on each call. <br>
+     * Default implementation returns null, then message is rendered only by {@link #get(Locale, MessageData...)}.
+     *
+     * @param lang language to use if possible.
+     *
+     * @return selected template or null.
+     */
+    protected ComponentTemplate select(final Locale lang)
+    {
+        return null;
+    }
 
     /**
      * Serialize all messages to given map, all base components are serialized to json string.
@@ -196,6 +381,27 @@ public abstract class Message
      */
     public abstract Map<Locale, Map<String, Object>> toMap(Map<Locale, Map<String, Object>> map, final Locale defaultLanguage, final String node);
 
+    /**
+     * Returns render cache used by this message, or null if rendered components aren't cached.
+     *
+     * @return render cache used by this message or null.
+     */
+    public RenderCache getRenderCache()
+    {
+        return this.renderCache;
+    }
+
+    /**
+     * Set render cache used by this message, use null to disable caching. <br>
+     * NOTE: when cache is used, components returned by {@link #get(Locale, MessageData...)} are still editable copies of cached components.
+     *
+     * @param renderCache render cache to use or null.
+     */
+    public void setRenderCache(final RenderCache renderCache)
+    {
+        this.renderCache = renderCache;
+    }
+
     /**
      * Returns true if this message is enabled.
      * @return true if this message is enabled.
@@ -206,7 +412,7 @@ public abstract class Message
     }
 
     /**
-     * Final send message method, called from evey other method.
+     * Send already rendered component to given target.
      *
      * @param target    target of message.
      * @param lang      language to use if possible.
@@ -228,6 +434,59 @@ public abstract class Message
         return true;
     }
 
+    /**
+     * Final send message method, called from evey other method.
+     *
+     * @param target    target of message.
+     * @param lang      language to use if possible.
+     * @param component ready to send component.
+     *
+     * @return true if message was send.
+     */
+    public boolean handleMessage(final MessageReceiver target, final Locale lang, final PreparedComponent component)
+    {
+        if (! this.isEnabled())
+        {
+            return false;
+        }
+        if (component == null)
+        {
+            return false;
+        }
+        target.sendMessage(component);
+        return true;
+    }
+
+    /**
+     * Send this same prepared component to all given targets, component is converted to platform component only once for whole group.
+     *
+     * @param targets   targets of message.
+     * @param lang      language to use if possible.
+     * @param component ready to send component.
+     *
+     * @return true if message was send to any target.
+     */
+    public boolean handleMessage(final Iterable<? extends MessageReceiver> targets, final Locale lang, final PreparedComponent component)
+    {
+        if (! this.isEnabled())
+        {
+            return false;
+        }
+        if (component == null)
+        {
+            return false;
+        }
+        boolean anyMsgSent = false;
+        for (final MessageReceiver target : targets)
+        {
+            if (this.handleMessage(target, lang, component))
+            {
+                anyMsgSent = true;
+            }
+        }
+        return anyMsgSent;
+    }
+
     /**
      * Try send this message to given {@link MessageReceiver}, if message is disabled method will just return false.
      *
@@ -239,7 +498,7 @@ public abstract class Message
      */
     public boolean sendMessage(final MessageReceiver target, final Locale lang, final MessageData... data)
     {
-        final BaseComponent msg = this.get(lang, data);
+        final PreparedComponent msg = this.prepare(lang, data);
         return this.handleMessage(target, lang, msg);
     }
 
@@ -256,6 +515,64 @@ public abstract class Message
         return this.sendMessage(target, target.getPreferredLocale(), data);
     }
 
+    /**
+     * Try send this message to given {@link MessageReceiver} using positional arguments, if message is disabled method will just return false.
+     *
+     * @param target    target of message.
+     * @param lang      language to use if possible.
+     * @param signature names of placeholder objects given as arguments.
+     * @param args      placeholder objects in order of signature.
+     *
+     * @return true if message was send.
+     */
+    public boolean sendMessage(final MessageReceiver target, final Locale lang, final MessageSignature signature, final Object... args)
+    {
+        final PreparedComponent msg = this.prepare(lang, signature, args);
+        return this.handleMessage(target, lang, msg);
+    }
+
+    /**
+     * Try send this message to given {@link MessageReceiver} using positional arguments, if message is disabled method will just return false.
+     *
+     * @param target    target of message.
+     * @param signature names of placeholder objects given as arguments.
+     * @param args      placeholder objects in order of signature.
+     *
+     * @return true if message was send.
+     */
+    public boolean sendMessage(final MessageReceiver target, final MessageSignature signature, final Object... args)
+    {
+        return this.sendMessage(target, target.getPreferredLocale(), signature, args);
+    }
+
+    /**
+     * Try send this message to given {@link MessageReceiver} using objects from given context, if message is disabled method will just return false.
+     *
+     * @param target  target of message.
+     * @param lang    language to use if possible.
+     * @param context placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean sendWith(final MessageReceiver target, final Locale lang, final MessageContext context)
+    {
+        final PreparedComponent msg = this.prepareWith(lang, context);
+        return this.handleMessage(target, lang, msg);
+    }
+
+    /**
+     * Try send this message to given {@link MessageReceiver} using objects from given context, if message is disabled method will just return false.
+     *
+     * @param target  target of message.
+     * @param context placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean sendWith(final MessageReceiver target, final MessageContext context)
+    {
+        return this.sendWith(target, target.getPreferredLocale(), context);
+    }
+
     /**
      * Try broadcast this message (to all players), if message is disabled method will just return false.
      *
@@ -266,7 +583,7 @@ public abstract class Message
      */
     public boolean broadcastStaticMessage(final Locale lang, final MessageData... data)
     {
-        final BaseComponent msg = this.get(lang, data);
+        final PreparedComponent msg = this.prepare(lang, data);
         return this.handleMessage(this.api.getBroadcastReceiver(), lang, msg);
     }
 
@@ -281,109 +598,363 @@ public abstract class Message
      */
     public boolean broadcastStaticMessage(final Iterable<? extends MessageReceiver> targets, final Locale lang, final MessageData... data)
     {
-        final BaseComponent msg = this.get(lang, data);
+        final PreparedComponent msg = this.prepare(lang, data);
         if (msg == null)
         {
-            return false;
+            return false;
+        }
+        this.handleMessage(targets, lang, msg);
+        return true;
+    }
+
+    /**
+     * Try broadcast this message (to all players) in target player language if possible, if message is disabled method will just return false.
+     *
+     * @param lang default language to use if target don't have any.
+     * @param data placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastMessage(final Locale lang, final MessageData... data)
+    {
+        return this.broadcastMessage(this.api.getReceivers(), lang, data);
+    }
+
+    /**
+     * Try broadcast this message to selected comamnd senders in target sender language if possible, if message is disabled method will just return false.
+     *
+     * @param targets targets of message.
+     * @param lang    default language to use if target don't have any.
+     * @param data    placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastMessage(final Iterable<? extends MessageReceiver> targets, final Locale lang, final MessageData... data)
+    {
+        return this.broadcast(targets, lang, locale -> this.prepare(locale, data));
+    }
+
+    /**
+     * Try broadcast this message to selected comamnd senders in target sender language if possible using positional arguments,
+     * if message is disabled method will just return false.
+     *
+     * @param targets   targets of message.
+     * @param lang      default language to use if target don't have any.
+     * @param signature names of placeholder objects given as arguments.
+     * @param args      placeholder objects in order of signature.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastMessage(final Iterable<? extends MessageReceiver> targets, final Locale lang, final MessageSignature signature, final Object... args)
+    {
+        return this.broadcast(targets, lang, locale -> this.prepare(locale, signature, args));
+    }
+
+    /**
+     * Try broadcast this message (to all players) in target player language if possible using positional arguments,
+     * if message is disabled method will just return false.
+     *
+     * @param signature names of placeholder objects given as arguments.
+     * @param args      placeholder objects in order of signature.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastMessage(final MessageSignature signature, final Object... args)
+    {
+        return this.broadcastMessage(this.api.getReceivers(), null, signature, args);
+    }
+
+    /**
+     * Try broadcast this message to selected comamnd senders in target sender language if possible using objects from given context,
+     * if message is disabled method will just return false.
+     *
+     * @param targets targets of message.
+     * @param lang    default language to use if target don't have any.
+     * @param context placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastWith(final Iterable<? extends MessageReceiver> targets, final Locale lang, final MessageContext context)
+    {
+        return this.broadcast(targets, lang, locale -> this.prepareWith(locale, context));
+    }
+
+    /**
+     * Try broadcast this message (to all players) in target player language if possible using objects from given context,
+     * if message is disabled method will just return false.
+     *
+     * @param context placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastWith(final MessageContext context)
+    {
+        return this.broadcastWith(this.api.getReceivers(), null, context);
+    }
+
+    private boolean broadcast(final Iterable<? extends MessageReceiver> targets, Locale lang, final Function<Locale, PreparedComponent> prepare)
+    {
+        if (lang == null)
+        {
+            lang = this.api.getLanguages()[0];
+        }
+        final Map<Locale, Collection<MessageReceiver>> groups = this.groupByLocale(targets);
+        PreparedComponent fallback = null;
+        boolean anyMsgSent = false;
+        for (final Entry<Locale, Collection<MessageReceiver>> entry : groups.entrySet())
+        {
+            PreparedComponent msg = prepare.apply(entry.getKey());
+            if (msg == null)
+            {
+                if (fallback == null)
+                {
+                    fallback = prepare.apply(lang);
+                }
+                msg = fallback;
+                if (msg == null)
+                {
+                    continue;
+                }
+            }
+            if (this.handleMessage(entry.getValue(), lang, msg))
+            {
+                anyMsgSent = true;
+            }
+        }
+        return anyMsgSent;
+    }
+
+    /**
+     * Try broadcast this message (to all players) in target player language if possible, if message is disabled method will just return false.
+     *
+     * @param data placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastMessage(final MessageData... data)
+    {
+        return this.broadcastMessage(this.api.getReceivers(), null, data);
+    }
+
+    /**
+     * Try broadcast this message to selected comamnd senders in target sender language if possible, if message is disabled method will just return false.
+     *
+     * @param targets targets of message.
+     * @param data    placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastMessage(final Iterable<? extends MessageReceiver> targets, final MessageData... data)
+    {
+        return this.broadcastMessage(targets, null, data);
+    }
+
+    /**
+     * Returns message instance with compiled templates, lazy messages are compiled by this method.
+     *
+     * @return compiled message.
+     */
+    Message getCompiled()
+    {
+        return this;
+    }
+
+    /**
+     * Returns source components of this message for each language, as {@link BaseComponent} or array of them for random messages. <br>
+     * Messages without language use only default language as key. Used to save compiled messages, returns null if not supported.
+     *
+     * @return source components for each language or null.
+     *
+     * @see #loadCompiled(MessagesAPI, String, Map)
+     */
+    Map<Locale, Object> getComponents()
+    {
+        return null;
+    }
+
+    /**
+     * Returns string with all placeholders used in this message, that can be parsed again to this same placeholders.
+     *
+     * @return string with all placeholders used in this message.
+     */
+    String getPlaceholdersSource()
+    {
+        final StringBuilder builder = new StringBuilder(this.placeholders.size() * 16);
+        for (final Collection<PlaceholderData<?>> placeholderData : this.placeholders.values())
+        {
+            for (final PlaceholderData<?> data : placeholderData)
+            {
+                builder.append(data.getFullName());
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns all compiled templates used by this message, used to invalidate cached renders of replaced messages.
+     *
+     * @return all compiled templates used by this message.
+     */
+    Collection<ComponentTemplate> getTemplates()
+    {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Capture values of all placeholders of this message, may return null if message is disabled. <br>
+     * All placeholder functions are called on current thread, returned snapshot can be rendered on any thread.
+     *
+     * @param lang language to use if possible.
+     * @param data placeholder objects to use.
+     *
+     * @return snapshot of this message or null if disabled.
+     */
+    public MessageSnapshot capture(final Locale lang, final MessageData... data)
+    {
+        final ComponentTemplate template = this.select(lang);
+        if (template == null)
+        {
+            final PreparedComponent prepared = this.prepare(lang, data);
+            return (prepared == null) ? null : new MessageSnapshot(this, lang, prepared);
+        }
+        return new MessageSnapshot(this, lang, template, template.isStatic() ? EMPTY_VALUES : apply(template, data));
+    }
+
+    /**
+     * Try send this message to given {@link MessageReceiver}, placeholders are captured on current thread, but message is rendered on
+     * {@link MessagesAPI#getRenderExecutor()} and send on {@link MessagesAPI#getMainThreadExecutor()} (or directly if receiver is async safe). <br>
+     * If api don't have main thread executor, message for receiver that isn't async safe is rendered and send on current thread.
+     *
+     * @param target target of message.
+     * @param lang   language to use if possible.
+     * @param data   placeholder objects to use.
+     *
+     * @return future completed with true if message was send.
+     */
+    public CompletableFuture<Boolean> sendMessageAsync(final MessageReceiver target, final Locale lang, final MessageData... data)
+    {
+        final MessageSnapshot snapshot = this.capture(lang, data);
+        if (snapshot == null)
+        {
+            return CompletableFuture.completedFuture(false);
+        }
+        final Executor delivery = target.isAsyncSafe() ? DIRECT_EXECUTOR : this.api.getMainThreadExecutor();
+        if (delivery == null)
+        {
+            return CompletableFuture.completedFuture(this.handleMessage(target, lang, this.renderSnapshot(snapshot)));
         }
-        targets.forEach(s -> this.handleMessage(s, lang, msg));
-        return true;
+        return this.renderAsync(snapshot).thenApplyAsync(msg -> this.handleMessage(target, lang, msg), delivery);
     }
 
     /**
-     * Try broadcast this message (to all players) in target player language if possible, if message is disabled method will just return false.
+     * Try send this message to given {@link MessageReceiver}, placeholders are captured on current thread, but message is rendered on
+     * {@link MessagesAPI#getRenderExecutor()} and send on {@link MessagesAPI#getMainThreadExecutor()} (or directly if receiver is async safe). <br>
+     * If api don't have main thread executor, message for receiver that isn't async safe is rendered and send on current thread.
      *
-     * @param lang default language to use if target don't have any.
-     * @param data placeholder objects to use.
+     * @param target target of message.
+     * @param data   placeholder objects to use.
      *
-     * @return true if message was send.
+     * @return future completed with true if message was send.
      */
-    public boolean broadcastMessage(final Locale lang, final MessageData... data)
+    public CompletableFuture<Boolean> sendMessageAsync(final MessageReceiver target, final MessageData... data)
     {
-        return this.broadcastMessage(this.api.getReceivers(), lang, data);
+        return this.sendMessageAsync(target, target.getPreferredLocale(), data);
     }
 
     /**
-     * Try broadcast this message to selected comamnd senders in target sender language if possible, if message is disabled method will just return false.
+     * Try broadcast this message to selected comamnd senders in target sender language if possible, placeholders are captured on current thread,
+     * but message is rendered on {@link MessagesAPI#getRenderExecutor()} and send on {@link MessagesAPI#getMainThreadExecutor()}. <br>
+     * If api don't have main thread executor, message is rendered and send on current thread.
      *
      * @param targets targets of message.
      * @param lang    default language to use if target don't have any.
      * @param data    placeholder objects to use.
      *
-     * @return true if message was send.
+     * @return future completed with true if message was send to any target.
      */
-    public boolean broadcastMessage(final Iterable<? extends MessageReceiver> targets, Locale lang, final MessageData... data)
+    public CompletableFuture<Boolean> broadcastMessageAsync(final Iterable<? extends MessageReceiver> targets, Locale lang, final MessageData... data)
     {
         if (lang == null)
         {
             lang = this.api.getLanguages()[0];
         }
-        final Map<Locale, BaseComponent> groups = new HashMap<>(this.api.getLanguages().length);
-        boolean anyMsgSent = false;
-        for (final MessageReceiver target : targets)
+        final Locale defaultLang = lang;
+        final Executor delivery = this.api.getMainThreadExecutor();
+        final Map<Locale, Collection<MessageReceiver>> groups = this.groupByLocale(targets);
+        final Collection<CompletableFuture<Boolean>> futures = new ArrayList<>(groups.size());
+        MessageSnapshot fallback = null;
+        for (final Entry<Locale, Collection<MessageReceiver>> entry : groups.entrySet())
         {
-            Locale locale = target.getPreferredLocale();
-            if (locale == null)
+            MessageSnapshot snapshot = this.capture(entry.getKey(), data);
+            if (snapshot == null)
             {
-                locale = this.api.getLanguages()[0];
-            }
-            BaseComponent msg;
-            if (groups.containsKey(locale))
-            {
-                msg = groups.get(locale);
-            }
-            else
-            {
-                msg = this.get(locale, data);
-                groups.put(locale, msg);
-            }
-            if (msg == null)
-            {
-                if (groups.containsKey(lang))
-                {
-                    msg = groups.get(lang);
-                }
-                else
+                if (fallback == null)
                 {
-                    msg = this.get(lang, data);
-                    groups.put(lang, msg);
+                    fallback = this.capture(defaultLang, data);
                 }
-                if (msg == null)
+                snapshot = fallback;
+                if (snapshot == null)
                 {
                     continue;
                 }
             }
-            if (this.handleMessage(target, lang, msg))
+            final Collection<MessageReceiver> group = entry.getValue();
+            if (delivery == null)
             {
-                anyMsgSent = true;
+                futures.add(CompletableFuture.completedFuture(this.handleMessage(group, defaultLang, this.renderSnapshot(snapshot))));
+                continue;
             }
+            futures.add(this.renderAsync(snapshot).thenApplyAsync(msg -> this.handleMessage(group, defaultLang, msg), delivery));
         }
-        return anyMsgSent;
+        final CompletableFuture<?>[] array = futures.toArray(new CompletableFuture<?>[futures.size()]);
+        return CompletableFuture.allOf(array).thenApply(v -> futures.stream().anyMatch(CompletableFuture::join));
     }
 
     /**
-     * Try broadcast this message (to all players) in target player language if possible, if message is disabled method will just return false.
+     * Try broadcast this message (to all players) in target player language if possible, placeholders are captured on current thread,
+     * but message is rendered on {@link MessagesAPI#getRenderExecutor()} and send on {@link MessagesAPI#getMainThreadExecutor()}. <br>
+     * If api don't have main thread executor, message is rendered and send on current thread.
      *
      * @param data placeholder objects to use.
      *
-     * @return true if message was send.
+     * @return future completed with true if message was send to any target.
      */
-    public boolean broadcastMessage(final MessageData... data)
+    public CompletableFuture<Boolean> broadcastMessageAsync(final MessageData... data)
     {
-        return this.broadcastMessage(this.api.getReceivers(), null, data);
+        return this.broadcastMessageAsync(this.api.getReceivers(), null, data);
     }
 
-    /**
-     * Try broadcast this message to selected comamnd senders in target sender language if possible, if message is disabled method will just return false.
-     *
-     * @param targets targets of message.
-     * @param data    placeholder objects to use.
-     *
-     * @return true if message was send.
-     */
-    public boolean broadcastMessage(final Iterable<? extends MessageReceiver> targets, final MessageData... data)
+    private CompletableFuture<PreparedComponent> renderAsync(final MessageSnapshot snapshot)
     {
-        return this.broadcastMessage(targets, null, data);
+        return CompletableFuture.supplyAsync(() -> this.renderSnapshot(snapshot), this.api.getRenderExecutor());
+    }
+
+    private PreparedComponent renderSnapshot(final MessageSnapshot snapshot)
+    {
+        final PreparedComponent msg = snapshot.render();
+        this.api.prepareMessage(msg);
+        return msg;
+    }
+
+    private Map<Locale, Collection<MessageReceiver>> groupByLocale(final Iterable<? extends MessageReceiver> targets)
+    {
+        final Map<Locale, Collection<MessageReceiver>> groups = new HashMap<>(this.api.getLanguages().length);
+        for (final MessageReceiver target : targets)
+        {
+            Locale locale = target.getPreferredLocale();
+            if (locale == null)
+            {
+                locale = this.api.getLanguages()[0];
+            }
+            Collection<MessageReceiver> group = groups.get(locale);
+            if (group == null)
+            {
+                group = new ArrayList<>(16);
+                groups.put(locale, group);
+            }
+            group.add(target);
+        }
+        return groups;
     }
 
     /**
@@ -427,23 +998,112 @@ public abstract class Message
         }
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private static BaseComponent replace(BaseComponent component, final Map<String, Collection<PlaceholderData<?>>> placeholders, final MessageData... data)
+    /**
+     * Render given template using given placeholder objects, global placeholders are always used. <br>
+     * If render cache is set, returned component is editable copy of component shared with other renders of this same values.
+     *
+     * @param template template to render.
+     * @param data     placeholder objects to use.
+     *
+     * @return rendered component.
+     */
+    protected final BaseComponent render(final ComponentTemplate template, final MessageData... data)
+    {
+        final Object[] values = apply(template, data);
+        final RenderCache renderCache = this.renderCache;
+        if (renderCache == null)
+        {
+            return template.render(values);
+        }
+        return renderCache.render(template, values);
+    }
+
+    /**
+     * Render given template to component prepared to send, templates without placeholders always return this same prepared component.
+     *
+     * @param template template to render.
+     * @param data     placeholder objects to use.
+     *
+     * @return prepared component.
+     */
+    protected final PreparedComponent renderPrepared(final ComponentTemplate template, final MessageData... data)
     {
-        component = PlaceholderType.replaceGlobal(component, placeholders);
-        for (final MessageData d : data)
+        if (template.isStatic())
         {
-            final Collection<PlaceholderData<?>> placeholderDatas = placeholders.get(d.name);
-            if (placeholderDatas == null)
-            {
-                continue;
-            }
-            for (final PlaceholderData placeholderData : placeholderDatas)
+            return template.prepare(EMPTY_VALUES);
+        }
+        return this.renderValues(template, apply(template, data));
+    }
+
+    /**
+     * Render given template using already captured values to component prepared to send.
+     *
+     * @param template template to render.
+     * @param values   captured values of template slots.
+     *
+     * @return prepared component.
+     */
+    PreparedComponent renderValues(final ComponentTemplate template, final Object[] values)
+    {
+        if (template.isStatic())
+        {
+            return template.prepare(EMPTY_VALUES);
+        }
+        final RenderCache renderCache = this.renderCache;
+        if (renderCache == null)
+        {
+            return template.prepare(values);
+        }
+        return renderCache.prepare(template, values);
+    }
+
+    private static Object[] apply(final ComponentTemplate template, final MessageData... data)
+    {
+        final int slotsCount = template.getSlotsCount();
+        final Object[] objects = new Object[slotsCount];
+        for (int i = 0; i < slotsCount; i++)
+        {
+            final String name = template.getSlotName(i);
+            for (final MessageData d : data)
             {
-                placeholderData.replace(component, d.object);
+                if (d.name.equals(name))
+                {
+                    objects[i] = d.object;
+                    break;
+                }
             }
         }
-        return component;
+        return template.apply(objects);
+    }
+
+    private static ComponentTemplate compile(final String msg, final Map<String, Collection<PlaceholderData<?>>> placeholders)
+    {
+        return ComponentTemplate.compile(ComponentSerializer.safeParse(msg, '&'), placeholders);
+    }
+
+    private static ComponentTemplate[] compile(final String[] msg, final Map<String, Collection<PlaceholderData<?>>> placeholders)
+    {
+        return compile(ComponentSerializer.safeParse(msg, '&'), placeholders);
+    }
+
+    private static BaseComponent[] components(final ComponentTemplate[] templates)
+    {
+        final BaseComponent[] components = new BaseComponent[templates.length];
+        for (int i = 0; i < templates.length; i++)
+        {
+            components[i] = templates[i].getComponent();
+        }
+        return components;
+    }
+
+    private static ComponentTemplate[] compile(final BaseComponent[] components, final Map<String, Collection<PlaceholderData<?>>> placeholders)
+    {
+        final ComponentTemplate[] templates = new ComponentTemplate[components.length];
+        for (int i = 0; i < components.length; i++)
+        {
+            templates[i] = ComponentTemplate.compile(components[i], placeholders);
+        }
+        return templates;
     }
 
     private static class DisabledMessage extends Message
@@ -485,24 +1145,110 @@ public abstract class Message
         }
     }
 
+    private static class LazyMessage extends Message
+    {
+        private          Map<Locale, Object> objects; // cleared after compilation
+        private volatile Message             message;
+
+        LazyMessage(final MessagesAPI api, final Map<Locale, Object> objects)
+        {
+            super(api, Collections.emptyMap());
+            this.objects = objects;
+        }
+
+        private Message compiled()
+        {
+            Message message = this.message;
+            if (message == null)
+            {
+                synchronized (this)
+                {
+                    message = this.message;
+                    if (message == null)
+                    {
+                        message = load(this.api, this.objects);
+                        this.message = message;
+                        this.objects = null;
+                    }
+                }
+            }
+            return message;
+        }
+
+        @Override
+        Message getCompiled()
+        {
+            return this.compiled();
+        }
+
+        @Override
+        public boolean isEnabled()
+        {
+            return this.compiled().isEnabled();
+        }
+
+        @Override
+        Collection<ComponentTemplate> getTemplates()
+        {
+            final Message message = this.message;
+            return (message == null) ? Collections.emptyList() : message.getTemplates();
+        }
+
+        @Override
+        protected ComponentTemplate select(final Locale lang)
+        {
+            return this.compiled().select(lang);
+        }
+
+        @Override
+        public Map<Locale, Map<String, Object>> toMap(final Map<Locale, Map<String, Object>> map, final Locale defaultLanguage, final String node)
+        {
+            return this.compiled().toMap(map, defaultLanguage, node);
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.compiled().toString();
+        }
+    }
+
     private static class SimpleMessage extends Message
     {
-        private final BaseComponent msg;
+        private final ComponentTemplate msg;
 
         SimpleMessage(final MessagesAPI api, final String msg)
         {
             super(api, PlaceholderData.parseString(api, msg, true));
-            this.msg = (msg == null) ? null : ComponentSerializer.safeParse(msg, '&');
+            this.msg = (msg == null) ? null : compile(msg, this.placeholders);
+        }
+
+        SimpleMessage(final MessagesAPI api, final Map<String, Collection<PlaceholderData<?>>> placeholders, final BaseComponent msg)
+        {
+            super(api, placeholders);
+            this.msg = ComponentTemplate.compile(msg, placeholders);
         }
 
         @Override
-        public BaseComponent get(final Locale lang, final MessageData... data)
+        Map<Locale, Object> getComponents()
         {
             if (this.msg == null)
             {
                 return null;
             }
-            return replace(this.msg, this.placeholders, data);
+            return Collections.singletonMap(this.api.getLanguages()[0], this.msg.getComponent());
+        }
+
+        @Override
+        Collection<ComponentTemplate> getTemplates()
+        {
+            return (this.msg == null) ? Collections.emptyList() : Collections.singletonList(this.msg);
+        }
+
+        @Override
+        protected ComponentTemplate select(final Locale lang)
+        {
+            return this.msg;
         }
 
         @Override
@@ -514,7 +1260,7 @@ public abstract class Message
                 msgMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
                 map.put(defaultLanguage, msgMap);
             }
-            msgMap.put(node, this.msg.canBeLegacy() ? ChatColor.removeColorCodesInString('&', this.msg.toLegacyText()) : ComponentSerializer.toString(this.msg));
+            msgMap.put(node, serialize(this.msg));
             return map;
         }
 
@@ -525,28 +1271,50 @@ public abstract class Message
             {
                 return "";
             }
-            return this.msg.toPlainText();
+            return this.msg.getComponent().toPlainText();
         }
     }
 
     private static class SimpleRandomMessage extends Message
     {
-        private final BaseComponent[] msg;
+        private final ComponentTemplate[] msg;
 
         SimpleRandomMessage(final MessagesAPI api, final String[] msg)
         {
             super(api, PlaceholderData.parseString(api, (msg == null) ? null : StringUtils.join(msg), true));
-            this.msg = (msg == null) ? null : ComponentSerializer.safeParse(msg, '&');
+            this.msg = (msg == null) ? null : compile(msg, this.placeholders);
+        }
+
+        SimpleRandomMessage(final MessagesAPI api, final Map<String, Collection<PlaceholderData<?>>> placeholders, final BaseComponent[] msg)
+        {
+            super(api, placeholders);
+            this.msg = compile(msg, placeholders);
         }
 
         @Override
-        public BaseComponent get(final Locale lang, final MessageData... data)
+        Map<Locale, Object> getComponents()
+        {
+            if (this.msg == null)
+            {
+                return null;
+            }
+            return Collections.singletonMap(this.api.getLanguages()[0], components(this.msg));
+        }
+
+        @Override
+        Collection<ComponentTemplate> getTemplates()
+        {
+            return (this.msg == null) ? Collections.emptyList() : Arrays.asList(this.msg);
+        }
+
+        @Override
+        protected ComponentTemplate select(final Locale lang)
         {
             if ((this.msg == null) || (this.msg.length == 0))
             {
                 return null;
             }
-            return replace(this.msg[random.nextInt(this.msg.length)], this.placeholders, data);
+            return this.msg[random.nextInt(this.msg.length)];
         }
 
         @Override
@@ -559,9 +1327,9 @@ public abstract class Message
                 map.put(defaultLanguage, msgMap);
             }
             final Collection<String> list = new ArrayList<>(this.msg.length);
-            for (final BaseComponent component : this.msg)
+            for (final ComponentTemplate template : this.msg)
             {
-                list.add(component.canBeLegacy() ? ChatColor.removeColorCodesInString('&', component.toLegacyText()) : ComponentSerializer.toString(component));
+                list.add(serialize(template));
             }
             msgMap.put(node, list);
             return map;
@@ -574,14 +1342,14 @@ public abstract class Message
             {
                 return "";
             }
-            return this.msg[0].toPlainText();
+            return this.msg[0].getComponent().toPlainText();
         }
     }
 
 
     private static class LocalizedMessage extends Message
     {
-        private final Map<Locale, BaseComponent> msg;
+        private final Map<Locale, ComponentTemplate> msg;
 
         LocalizedMessage(final MessagesAPI api, final Map<Locale, String> msg)
         {
@@ -594,31 +1362,53 @@ public abstract class Message
             this.msg = new HashMap<>(msg.size(), .1f);
             for (final Entry<Locale, String> entry : msg.entrySet())
             {
-                this.msg.put(entry.getKey(), ComponentSerializer.safeParse(entry.getValue(), '&'));
+                this.msg.put(entry.getKey(), compile(entry.getValue(), this.placeholders));
+            }
+        }
+
+        LocalizedMessage(final MessagesAPI api, final Map<String, Collection<PlaceholderData<?>>> placeholders, final Map<Locale, BaseComponent> msg)
+        {
+            super(api, placeholders);
+            this.msg = new HashMap<>(msg.size(), .1f);
+            for (final Entry<Locale, BaseComponent> entry : msg.entrySet())
+            {
+                this.msg.put(entry.getKey(), ComponentTemplate.compile(entry.getValue(), placeholders));
             }
         }
 
         @Override
-        public BaseComponent get(final Locale lang, final MessageData... data)
+        Map<Locale, Object> getComponents()
         {
-            if ((this.msg == null) || this.msg.isEmpty())
+            if (this.msg == null)
             {
                 return null;
             }
-            final BaseComponent selected;
-            if (lang == null)
+            final Map<Locale, Object> result = new HashMap<>(this.msg.size());
+            for (final Entry<Locale, ComponentTemplate> entry : this.msg.entrySet())
             {
-                selected = this.msg.get(this.api.getLanguages()[0]);
+                result.put(entry.getKey(), entry.getValue().getComponent());
             }
-            else
+            return result;
+        }
+
+        @Override
+        Collection<ComponentTemplate> getTemplates()
+        {
+            return this.msg.values();
+        }
+
+        @Override
+        protected ComponentTemplate select(final Locale lang)
+        {
+            if ((this.msg == null) || this.msg.isEmpty())
             {
-                selected = this.msg.getOrDefault(lang, this.msg.get(this.api.getLanguages()[0]));
+                return null;
             }
-            if (selected == null)
+            if (lang == null)
             {
-                return null;
+                return this.msg.get(this.api.getLanguages()[0]);
             }
-            return replace(selected, this.placeholders, data);
+            return this.msg.getOrDefault(lang, this.msg.get(this.api.getLanguages()[0]));
         }
 
         @Override
@@ -634,18 +1424,18 @@ public abstract class Message
             {
                 return "";
             }
-            final BaseComponent msg = this.msg.get(this.api.getLanguages()[0]);
+            final ComponentTemplate msg = this.msg.get(this.api.getLanguages()[0]);
             if (msg == null)
             {
                 return "";
             }
-            return msg.toPlainText();
+            return msg.getComponent().toPlainText();
         }
     }
 
     private static class LocalizedRandomMessage extends Message
     {
-        private final Map<Locale, BaseComponent[]> msg;
+        private final Map<Locale, ComponentTemplate[]> msg;
 
         private static String joinString(final Map<Locale, String[]> msg)
         {
@@ -667,18 +1457,54 @@ public abstract class Message
             this.msg = new HashMap<>(msg.size(), .1f);
             for (final Entry<Locale, String[]> entry : msg.entrySet())
             {
-                this.msg.put(entry.getKey(), ComponentSerializer.safeParse(entry.getValue(), '&'));
+                this.msg.put(entry.getKey(), compile(entry.getValue(), this.placeholders));
+            }
+        }
+
+        LocalizedRandomMessage(final MessagesAPI api, final Map<String, Collection<PlaceholderData<?>>> placeholders, final Map<Locale, BaseComponent[]> msg)
+        {
+            super(api, placeholders);
+            this.msg = new HashMap<>(msg.size(), .1f);
+            for (final Entry<Locale, BaseComponent[]> entry : msg.entrySet())
+            {
+                this.msg.put(entry.getKey(), compile(entry.getValue(), placeholders));
             }
         }
 
         @Override
-        public BaseComponent get(final Locale lang, final MessageData... data)
+        Map<Locale, Object> getComponents()
+        {
+            if (this.msg == null)
+            {
+                return null;
+            }
+            final Map<Locale, Object> result = new HashMap<>(this.msg.size());
+            for (final Entry<Locale, ComponentTemplate[]> entry : this.msg.entrySet())
+            {
+                result.put(entry.getKey(), components(entry.getValue()));
+            }
+            return result;
+        }
+
+        @Override
+        Collection<ComponentTemplate> getTemplates()
+        {
+            final Collection<ComponentTemplate> templates = new ArrayList<>(this.msg.size() * 2);
+            for (final ComponentTemplate[] array : this.msg.values())
+            {
+                Collections.addAll(templates, array);
+            }
+            return templates;
+        }
+
+        @Override
+        protected ComponentTemplate select(final Locale lang)
         {
             if ((this.msg == null) || this.msg.isEmpty())
             {
                 return null;
             }
-            final BaseComponent[] selected;
+            final ComponentTemplate[] selected;
             if (lang == null)
             {
                 selected = this.msg.get(this.api.getLanguages()[0]);
@@ -691,7 +1517,7 @@ public abstract class Message
             {
                 return null;
             }
-            return replace(selected[random.nextInt(selected.length)], this.placeholders, data);
+            return selected[random.nextInt(selected.length)];
         }
 
         @Override
@@ -707,19 +1533,19 @@ public abstract class Message
             {
                 return "";
             }
-            final BaseComponent[] msg = this.msg.get(this.api.getLanguages()[0]);
+            final ComponentTemplate[] msg = this.msg.get(this.api.getLanguages()[0]);
             if ((msg == null) || (msg.length == 0))
             {
                 return "";
             }
-            return msg[0].toPlainText();
+            return msg[0].getComponent().toPlainText();
         }
     }
 
     private static class LocalizedMixedMessage extends Message
     {
-        private final Map<Locale, BaseComponent>   msg1;
-        private final Map<Locale, BaseComponent[]> msg2;
+        private final Map<Locale, ComponentTemplate>   msg1;
+        private final Map<Locale, ComponentTemplate[]> msg2;
 
         private static String joinString(final Map<Locale, String> msg1, final Map<Locale, String[]> msg2)
         {
@@ -740,7 +1566,7 @@ public abstract class Message
                 this.msg1 = new HashMap<>(msg1.size(), .1f);
                 for (final Entry<Locale, String> entry : msg1.entrySet())
                 {
-                    this.msg1.put(entry.getKey(), ComponentSerializer.safeParse(entry.getValue(), '&'));
+                    this.msg1.put(entry.getKey(), compile(entry.getValue(), this.placeholders));
                 }
             }
             if (msg2 == null)
@@ -752,39 +1578,86 @@ public abstract class Message
                 this.msg2 = new HashMap<>(msg2.size(), .1f);
                 for (final Entry<Locale, String[]> entry : msg2.entrySet())
                 {
-                    this.msg2.put(entry.getKey(), ComponentSerializer.safeParse(entry.getValue(), '&'));
+                    this.msg2.put(entry.getKey(), compile(entry.getValue(), this.placeholders));
+                }
+            }
+        }
+
+        LocalizedMixedMessage(final MessagesAPI api, final Map<String, Collection<PlaceholderData<?>>> placeholders, final Map<Locale, BaseComponent> msg1, final Map<Locale, BaseComponent[]> msg2)
+        {
+            super(api, placeholders);
+            this.msg1 = new HashMap<>(msg1.size(), .1f);
+            for (final Entry<Locale, BaseComponent> entry : msg1.entrySet())
+            {
+                this.msg1.put(entry.getKey(), ComponentTemplate.compile(entry.getValue(), placeholders));
+            }
+            this.msg2 = new HashMap<>(msg2.size(), .1f);
+            for (final Entry<Locale, BaseComponent[]> entry : msg2.entrySet())
+            {
+                this.msg2.put(entry.getKey(), compile(entry.getValue(), placeholders));
+            }
+        }
+
+        @Override
+        Map<Locale, Object> getComponents()
+        {
+            final Map<Locale, Object> result = new HashMap<>(((this.msg1 == null) ? 0 : this.msg1.size()) + ((this.msg2 == null) ? 0 : this.msg2.size()));
+            if (this.msg2 != null)
+            {
+                for (final Entry<Locale, ComponentTemplate[]> entry : this.msg2.entrySet())
+                {
+                    result.put(entry.getKey(), components(entry.getValue()));
+                }
+            }
+            if (this.msg1 != null)
+            {
+                for (final Entry<Locale, ComponentTemplate> entry : this.msg1.entrySet())
+                {
+                    result.put(entry.getKey(), entry.getValue().getComponent());
                 }
             }
+            return result;
+        }
+
+        @Override
+        Collection<ComponentTemplate> getTemplates()
+        {
+            final Collection<ComponentTemplate> templates = new ArrayList<>(this.msg1.values());
+            for (final ComponentTemplate[] array : this.msg2.values())
+            {
+                Collections.addAll(templates, array);
+            }
+            return templates;
         }
 
         @Override
-        public BaseComponent get(Locale lang, final MessageData... data)
+        protected ComponentTemplate select(Locale lang)
         {
             if (lang == null)
             {
                 lang = this.api.getLanguages()[0];
             }
             {
-                BaseComponent selected = null;
+                ComponentTemplate selected = null;
                 if ((this.msg1 != null) && ! this.msg1.isEmpty())
                 {
                     selected = this.msg1.getOrDefault(lang, this.msg1.get(this.api.getLanguages()[0]));
                 }
                 if (selected != null)
                 {
-                    return replace(selected, this.placeholders, data);
+                    return selected;
                 }
             }
             if ((this.msg2 == null) || this.msg2.isEmpty())
             {
                 return null;
             }
-            final BaseComponent[] selected = this.msg2.getOrDefault(lang, this.msg2.get(this.api.getLanguages()[0]));
+            final ComponentTemplate[] selected = this.msg2.getOrDefault(lang, this.msg2.get(this.api.getLanguages()[0]));
             if ((selected == null) || (selected.length == 0))
             {
                 return null;
             }
-            return replace(selected[random.nextInt(selected.length)], this.placeholders, data);
+            return selected[random.nextInt(selected.length)];
         }
 
         @Override
@@ -804,45 +1677,50 @@ public abstract class Message
                 {
                     return "";
                 }
-                final BaseComponent[] msg = this.msg2.get(this.api.getLanguages()[0]);
+                final ComponentTemplate[] msg = this.msg2.get(this.api.getLanguages()[0]);
                 if ((msg == null) || (msg.length == 0))
                 {
                     return "";
                 }
-                return msg[0].toPlainText();
+                return msg[0].getComponent().toPlainText();
             }
-            final BaseComponent msg = this.msg1.get(this.api.getLanguages()[0]);
+            final ComponentTemplate msg = this.msg1.get(this.api.getLanguages()[0]);
             if (msg == null)
             {
                 return "";
             }
-            return msg.toPlainText();
+            return msg.getComponent().toPlainText();
         }
     }
 
-    private static Map<Locale, Map<String, Object>> toMap1(final Map<Locale, BaseComponent> source, final Map<Locale, Map<String, Object>> map, final String node)
+    private static String serialize(final ComponentTemplate template)
+    {
+        final BaseComponent msg = template.getComponent();
+        return msg.canBeLegacy() ? ChatColor.removeColorCodesInString('&', msg.toLegacyText()) : ComponentSerializer.toString(msg);
+    }
+
+    private static Map<Locale, Map<String, Object>> toMap1(final Map<Locale, ComponentTemplate> source, final Map<Locale, Map<String, Object>> map, final String node)
     {
-        for (final Entry<Locale, BaseComponent> entry : source.entrySet())
+        for (final Entry<Locale, ComponentTemplate> entry : source.entrySet())
         {
             final Locale locale = entry.getKey();
-            final BaseComponent msg = entry.getValue();
             Map<String, Object> msgMap = map.get(locale);
             if (msgMap == null)
             {
                 msgMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
                 map.put(locale, msgMap);
             }
-            msgMap.put(node, msg.canBeLegacy() ? ChatColor.removeColorCodesInString('&', msg.toLegacyText()) : ComponentSerializer.toString(msg));
+            msgMap.put(node, serialize(entry.getValue()));
         }
         return map;
     }
 
-    private static Map<Locale, Map<String, Object>> toMap2(final Map<Locale, BaseComponent[]> source, final Map<Locale, Map<String, Object>> map, final String node)
+    private static Map<Locale, Map<String, Object>> toMap2(final Map<Locale, ComponentTemplate[]> source, final Map<Locale, Map<String, Object>> map, final String node)
     {
-        for (final Entry<Locale, BaseComponent[]> entry : source.entrySet())
+        for (final Entry<Locale, ComponentTemplate[]> entry : source.entrySet())
         {
             final Locale locale = entry.getKey();
-            final BaseComponent[] msgs = entry.getValue();
+            final ComponentTemplate[] msgs = entry.getValue();
             Map<String, Object> msgMap = map.get(locale);
             if (msgMap == null)
             {
@@ -850,9 +1728,9 @@ public abstract class Message
                 map.put(locale, msgMap);
             }
             final Collection<String> list = new ArrayList<>(msgs.length);
-            for (final BaseComponent component : msgs)
+            for (final ComponentTemplate template : msgs)
             {
-                list.add(component.canBeLegacy() ? ChatColor.removeColorCodesInString('&', component.toLegacyText()) : ComponentSerializer.toString(component));
+                list.add(serialize(template));
             }
             msgMap.put(node, list);
         }
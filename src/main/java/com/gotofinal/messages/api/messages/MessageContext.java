@@ -0,0 +1,188 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.messages;
+
+import java.util.Arrays;
+
+import com.gotofinal.messages.api.chat.placeholder.ComponentTemplate;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Reusable placeholder objects of single render, replacement of {@link Message.MessageData} varargs that don't allocate anything on each send. <br>
+ * Pooled instance for current thread can be obtained by {@link #get()} and should be closed after use, like:
+ * <pre>
+ * try (MessageContext context = MessageContext.get())
+ * {
+ *     message.sendWith(target, context.with("player", player).with("killer", killer));
+ * }
+ * </pre>
+ * Context isn't thread safe.
+ */
+public final class MessageContext implements AutoCloseable
+{
+    private static final ThreadLocal<MessageContext> pool = ThreadLocal.withInitial(MessageContext::new);
+
+    private String[] names   = new String[4];
+    private Object[] objects = new Object[4];
+    private int      size;
+    private Object[] slots   = new Object[8]; // objects of template slots, cleared after each render
+    private boolean  inUse;
+
+    /**
+     * Construct new empty context, use {@link #get()} to use pooled context.
+     */
+    public MessageContext()
+    {
+    }
+
+    /**
+     * Returns empty pooled context of current thread, or new context if pooled one is already in use.
+     *
+     * @return empty context.
+     */
+    public static MessageContext get()
+    {
+        final MessageContext context = pool.get();
+        if (context.inUse)
+        {
+            return new MessageContext();
+        }
+        context.inUse = true;
+        return context;
+    }
+
+    /**
+     * Add placeholder object with given name.
+     *
+     * @param name   name of object, like "player" for $&lt;player.name&gt; or "killer" for $&lt;player:killer.name&gt;.
+     * @param object placeholder object.
+     *
+     * @return this same context.
+     */
+    public MessageContext with(final String name, final Object object)
+    {
+        if (this.size == this.names.length)
+        {
+            this.names = Arrays.copyOf(this.names, this.size << 1);
+            this.objects = Arrays.copyOf(this.objects, this.size << 1);
+        }
+        this.names[this.size] = name;
+        this.objects[this.size++] = object;
+        return this;
+    }
+
+    /**
+     * Returns amount of placeholder objects in this context.
+     *
+     * @return amount of placeholder objects in this context.
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Remove all placeholder objects from this context.
+     *
+     * @return this same context.
+     */
+    public MessageContext clear()
+    {
+        Arrays.fill(this.names, 0, this.size, null);
+        Arrays.fill(this.objects, 0, this.size, null);
+        this.size = 0;
+        return this;
+    }
+
+    /**
+     * Clear this context and return it to pool.
+     */
+    @Override
+    public void close()
+    {
+        this.clear();
+        this.inUse = false;
+    }
+
+    /**
+     * Fetch values of all slots of given template using objects of this context.
+     *
+     * @param template template to use.
+     *
+     * @return array of values for each slot.
+     *
+     * @see ComponentTemplate#apply(Object[])
+     */
+    Object[] apply(final ComponentTemplate template)
+    {
+        final int slotsCount = template.getSlotsCount();
+        if (this.slots.length < slotsCount)
+        {
+            this.slots = new Object[slotsCount];
+        }
+        for (int i = 0; i < slotsCount; i++)
+        {
+            final String name = template.getSlotName(i);
+            for (int j = 0; j < this.size; j++)
+            {
+                if (name.equals(this.names[j]))
+                {
+                    this.slots[i] = this.objects[j];
+                    break;
+                }
+            }
+        }
+        try
+        {
+            return template.apply(this.slots);
+        } finally
+        {
+            Arrays.fill(this.slots, 0, slotsCount, null);
+        }
+    }
+
+    /**
+     * Create {@link Message.MessageData} for each object, used by messages that don't use compiled templates.
+     *
+     * @return data for each object.
+     */
+    Message.MessageData[] toData()
+    {
+        final Message.MessageData[] data = new Message.MessageData[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            data[i] = new Message.MessageData(this.names[i], this.objects[i]);
+        }
+        return data;
+    }
+
+    @Override
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("names", Arrays.toString(Arrays.copyOf(this.names, this.size))).toString();
+    }
+}
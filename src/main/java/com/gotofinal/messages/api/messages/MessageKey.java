@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.messages;
+
+import java.util.Locale;
+
+import com.gotofinal.messages.api.MessageReceiver;
+import com.gotofinal.messages.api.messages.Message.MessageData;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Reusable handle of message on given path, message is resolved on first use and then again only after messages tree was modified. <br>
+ * Messages from nodes that aren't tracked by modification count of tree (created with own maps or from other tree) are resolved on each use. <br>
+ * Handles are safe to store in static fields and use from any thread.
+ *
+ * @see Messages#getKey(String)
+ */
+public final class MessageKey
+{
+    private final    Messages node;
+    private final    String   path;
+    private volatile Resolved resolved;
+
+    MessageKey(final Messages node, final String path)
+    {
+        this.node = node;
+        this.path = path;
+    }
+
+    /**
+     * Returns messages node used to resolve this key.
+     *
+     * @return messages node used to resolve this key.
+     */
+    public Messages getNode()
+    {
+        return this.node;
+    }
+
+    /**
+     * Returns path of message.
+     *
+     * @return path of message.
+     */
+    public String getPath()
+    {
+        return this.path;
+    }
+
+    /**
+     * Returns message on path of this key, or null if there is no such message.
+     *
+     * @return message on path of this key.
+     */
+    public Message getMessage()
+    {
+        final long stamp = this.node.getModificationCount();
+        Resolved resolved = this.resolved;
+        if ((resolved == null) || (resolved.stamp != stamp))
+        {
+            final Message message = this.node.getIndexedMessage(this.path);
+            if (message == null)
+            {
+                // message isn't indexed, so it may be changed without modifications of tree, it can't be remembered.
+                return this.node.getMessage(this.path);
+            }
+            resolved = new Resolved(stamp, message);
+            this.resolved = resolved;
+        }
+        return resolved.message;
+    }
+
+    /**
+     * Try broadcast this message to selected comamnd senders in target sender language if possible, if message is disabled method will just return false.
+     *
+     * @param targets targets of message.
+     * @param data    placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastMessage(final Iterable<? extends MessageReceiver> targets, final MessageData... data)
+    {
+        final Message message = this.getMessage();
+        return (message != null) && message.broadcastMessage(targets, data);
+    }
+
+    /**
+     * Try broadcast this message (to all players) in target player language if possible, if message is disabled method will just return false.
+     *
+     * @param data placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastMessage(final MessageData... data)
+    {
+        final Message message = this.getMessage();
+        return (message != null) && message.broadcastMessage(data);
+    }
+
+    /**
+     * Try broadcast this message to selected comamnd senders in target sender language if possible, if message is disabled method will just return false.
+     *
+     * @param targets targets of message.
+     * @param lang    default language to use if target don't have any.
+     * @param data    placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastMessage(final Iterable<? extends MessageReceiver> targets, final Locale lang, final MessageData... data)
+    {
+        final Message message = this.getMessage();
+        return (message != null) && message.broadcastMessage(targets, lang, data);
+    }
+
+    /**
+     * Try broadcast this message (to all players) in target player language if possible, if message is disabled method will just return false.
+     *
+     * @param lang default language to use if target don't have any.
+     * @param data placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastMessage(final Locale lang, final MessageData... data)
+    {
+        final Message message = this.getMessage();
+        return (message != null) && message.broadcastMessage(lang, data);
+    }
+
+    /**
+     * Try broadcast this message to selected comamnd senders, if message is disabled method will just return false.
+     *
+     * @param targets targets of message.
+     * @param lang    language to use if possible.
+     * @param data    placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastStaticMessage(final Iterable<? extends MessageReceiver> targets, final Locale lang, final MessageData... data)
+    {
+        final Message message = this.getMessage();
+        return (message != null) && message.broadcastStaticMessage(targets, lang, data);
+    }
+
+    /**
+     * Try broadcast this message (to all players), if message is disabled method will just return false.
+     *
+     * @param lang language to use if possible.
+     * @param data placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean broadcastStaticMessage(final Locale lang, final MessageData... data)
+    {
+        final Message message = this.getMessage();
+        return (message != null) && message.broadcastStaticMessage(lang, data);
+    }
+
+    /**
+     * Try send this message to given {@link MessageReceiver}, if message is disabled method will just return false.
+     *
+     * @param target target of message.
+     * @param lang   language to use if possible.
+     * @param data   placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean sendMessage(final MessageReceiver target, final Locale lang, final MessageData... data)
+    {
+        final Message message = this.getMessage();
+        return (message != null) && message.sendMessage(target, lang, data);
+    }
+
+    /**
+     * Try send this message to given {@link MessageReceiver}, if message is disabled method will just return false.
+     *
+     * @param target target of message.
+     * @param data   placeholder objects to use.
+     *
+     * @return true if message was send.
+     */
+    public boolean sendMessage(final MessageReceiver target, final MessageData... data)
+    {
+        final Message message = this.getMessage();
+        return (message != null) && message.sendMessage(target, target.getPreferredLocale(), data);
+    }
+
+    @Override
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("node", this.node).append("path", this.path).toString();
+    }
+
+    private static final class Resolved
+    {
+        private final long    stamp;
+        private final Message message;
+
+        private Resolved(final long stamp, final Message message)
+        {
+            this.stamp = stamp;
+            this.message = message;
+        }
+    }
+}
@@ -30,13 +30,28 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.CharStreams;
 import com.gotofinal.messages.api.MessagesAPI;
 import com.gotofinal.messages.api.SimpleConfigManager;
 import com.gotofinal.messages.api.messages.Messages.MessagePack;
@@ -53,13 +68,83 @@ public class MessageLoader
 
     private final MessagesAPI api;
 
-    private final SimpleConfigManager yaml = new SimpleConfigManager();
+    private final SimpleConfigManager              yaml         = new SimpleConfigManager();
+    private final ThreadLocal<SimpleConfigManager> parallelYaml = ThreadLocal.withInitial(SimpleConfigManager::new);
+
+    private volatile boolean parallel;
+    private volatile boolean lazy;
+    private volatile File    cacheFile;
 
     public MessageLoader(final MessagesAPI api)
     {
         this.api = api;
     }
 
+    /**
+     * Returns true if language files are loaded in parallel.
+     *
+     * @return true if language files are loaded in parallel.
+     */
+    public boolean isParallel()
+    {
+        return this.parallel;
+    }
+
+    /**
+     * Returns true if messages are compiled on first use instead of while loading.
+     *
+     * @return true if messages are compiled on first use.
+     */
+    public boolean isLazy()
+    {
+        return this.lazy;
+    }
+
+    /**
+     * Returns binary cache file of compiled messages, or null if cache isn't used.
+     *
+     * @return binary cache file of compiled messages.
+     */
+    public File getCacheFile()
+    {
+        return this.cacheFile;
+    }
+
+    /**
+     * Set binary cache file of compiled messages, if language files and default values didn't change since cache was written, messages are loaded
+     * from cache without parsing yaml files and message formats. <br>
+     * Cache is written again after each load that can't use it. Set to null to disable cache. <br>
+     * Cache stores compiled messages, so it is not used when {@link #isLazy()} is set, as writing it would compile all messages while loading.
+     *
+     * @param cacheFile binary cache file of compiled messages.
+     */
+    public void setCacheFile(final File cacheFile)
+    {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Set if messages should be compiled on first use instead of while loading, loaded messages keeps only raw strings until first use. <br>
+     * Lazy loading doesn't use cache file of compiled messages. {@link #setCacheFile(File)}
+     *
+     * @param lazy if messages should be compiled on first use.
+     */
+    public void setLazy(final boolean lazy)
+    {
+        this.lazy = lazy;
+    }
+
+    /**
+     * Set if language files should be loaded in parallel, each file is parsed on own thread and then messages are constructed in parallel for each node. <br>
+     * Loaded messages are this same as loaded in single thread.
+     *
+     * @param parallel if language files should be loaded in parallel.
+     */
+    public void setParallel(final boolean parallel)
+    {
+        this.parallel = parallel;
+    }
+
     /**
      * Load messages from given folder with language files, each file means one language so they need contains language code at the end, like: <br>
      * myLangFile_pl-PL.yml<br>
@@ -94,7 +179,6 @@ public class MessageLoader
      */
     public Messages loadMessages(final Predicate<File> predicate, final Function<File, Locale> func, final Messages node, final File folder, final Function<Locale, Reader> defaultValuesFunction)
     {
-        final DataTree result = new DataTree("");
         if (! folder.exists())
         {
             folder.mkdirs();
@@ -105,6 +189,75 @@ public class MessageLoader
         }
         final File[] files = folder.listFiles();
         assert files != null;
+        final File cacheFile = this.lazy ? null : this.cacheFile;
+        if (cacheFile == null)
+        {
+            return this.parallel ? this.loadMessagesParallel(predicate, func, node, files, defaultValuesFunction) : this.loadMessages(predicate, func, node, files, defaultValuesFunction);
+        }
+        final byte[] hash = this.hash(predicate, func, files, defaultValuesFunction);
+        try
+        {
+            if (CompiledMessagesCache.read(cacheFile, hash, node))
+            {
+                return node;
+            }
+        } catch (final IOException | RuntimeException e) // corrupted cache, read messages from source files again
+        {
+            e.printStackTrace();
+        }
+        final Messages messages = this.parallel ? this.loadMessagesParallel(predicate, func, node, files, defaultValuesFunction) : this.loadMessages(predicate, func, node, files, defaultValuesFunction);
+        try
+        {
+            CompiledMessagesCache.write(cacheFile, hash, messages);
+        } catch (final IOException e)
+        {
+            e.printStackTrace();
+        }
+        return messages;
+    }
+
+    private byte[] hash(final Predicate<File> predicate, final Function<File, Locale> func, final File[] files, final Function<Locale, Reader> defaultValuesFunction)
+    {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (final Locale locale : this.api.getLanguages())
+        {
+            hasher.putString(locale.toLanguageTag(), StandardCharsets.UTF_8);
+            try (final Reader reader = defaultValuesFunction.apply(locale))
+            {
+                if (reader != null)
+                {
+                    hasher.putString(CharStreams.toString(reader), StandardCharsets.UTF_8);
+                }
+            } catch (final IOException e)
+            {
+                e.printStackTrace();
+            }
+        }
+        final File[] sorted = files.clone();
+        Arrays.sort(sorted);
+        for (final File file : sorted)
+        {
+            if (! predicate.test(file))
+            {
+                continue;
+            }
+            final Locale locale = func.apply(file);
+            hasher.putString(file.getName(), StandardCharsets.UTF_8);
+            hasher.putString(String.valueOf(locale), StandardCharsets.UTF_8);
+            try
+            {
+                hasher.putBytes(Files.readAllBytes(file.toPath()));
+            } catch (final IOException e)
+            {
+                e.printStackTrace();
+            }
+        }
+        return hasher.hash().asBytes();
+    }
+
+    private Messages loadMessages(final Predicate<File> predicate, final Function<File, Locale> func, final Messages node, final File[] files, final Function<Locale, Reader> defaultValuesFunction)
+    {
+        final DataTree result = new DataTree("");
         final DataTree masterDefault = new DataTree("");
         final Map<Locale, DataTree> defaults = new HashMap<>(files.length + 1);
         {
@@ -155,6 +308,72 @@ public class MessageLoader
         return result.construct(node);
     }
 
+    private Messages loadMessagesParallel(final Predicate<File> predicate, final Function<File, Locale> func, final Messages node, final File[] files, final Function<Locale, Reader> defaultValuesFunction)
+    {
+        final Locale[] languages = this.api.getLanguages();
+        final Collection<ForkJoinTask<DataTree>> tasks = new ArrayList<>(languages.length + files.length);
+        for (final Locale locale : languages)
+        {
+            tasks.add(ForkJoinPool.commonPool().submit(() -> this.loadDefaults(locale, defaultValuesFunction)));
+        }
+        final Set<Locale> supported = new HashSet<>(Arrays.asList(languages));
+        for (final File file : files)
+        {
+            if (! predicate.test(file))
+            {
+                continue;
+            }
+            Locale locale = func.apply(file);
+            if (locale == null)
+            {
+                locale = languages[0];
+            }
+            if (! supported.contains(locale))
+            {
+                continue;
+            }
+            final Locale fileLocale = locale;
+            tasks.add(ForkJoinPool.commonPool().submit(() -> this.loadFile(fileLocale, file)));
+        }
+        final DataTree result = new DataTree("");
+        for (final ForkJoinTask<DataTree> task : tasks)
+        {
+            final DataTree tree = task.join();
+            if (tree != null)
+            {
+                result.putDefaults(tree);
+            }
+        }
+        return ForkJoinPool.commonPool().invoke(new ConstructTask(result, node, this.lazy));
+    }
+
+    private DataTree loadDefaults(final Locale locale, final Function<Locale, Reader> defaultValuesFunction)
+    {
+        try (final Reader reader = defaultValuesFunction.apply(locale))
+        {
+            if (reader != null)
+            {
+                return this.toTree(locale, "", this.parallelYaml.get().load(Map.class, reader), new DataTree(""));
+            }
+        } catch (final IOException e)
+        {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private DataTree loadFile(final Locale locale, final File file)
+    {
+        try
+        {
+            return this.toTree(locale, "", this.parallelYaml.get().load(Map.class, file), new DataTree(""));
+        } catch (final IOException e)
+        {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
     /**
      * Load messages from given folder with language files, each file means one language so they need contains language code at the end, like: <br>
      * myLangFile_pl-PL.yml<br>
@@ -210,6 +429,31 @@ public class MessageLoader
         return this.loadMessages(f -> f.getName().startsWith(prefix) && f.getName().endsWith(".yml"), f -> this.getLocale(f.getName().substring(prefix.length(), f.getName().lastIndexOf('.'))), folder, defaultValuesFunction);
     }
 
+    /**
+     * Start watching given folder with language files, when one of files is changed only this file is parsed again and only changed messages are
+     * replaced in given messages node. <br>
+     * Messages should be already loaded to given node, like by {@link #loadMessages(String, File, Function)}.
+     *
+     * @param prefix                prefix of each file.
+     * @param folder                folder with language files.
+     * @param defaultValuesFunction function that returns Reader with default values for given language.
+     * @param node                  messages node with loaded messages from given folder.
+     *
+     * @return started watcher, close it to stop watching.
+     *
+     * @throws IOException if files can't be loaded or folder can't be watched.
+     */
+    public MessagesWatcher watch(final String prefix, final File folder, final Function<Locale, Reader> defaultValuesFunction, final Messages node) throws IOException
+    {
+        if (prefix == null)
+        {
+            throw new IllegalArgumentException("Prefix can't be null, can't watch resources in: " + folder.toPath());
+        }
+        final MessagesWatcher watcher = new MessagesWatcher(this, this.api, prefix, folder, defaultValuesFunction, node);
+        watcher.start();
+        return watcher;
+    }
+
     /**
      * Load messages from given folder with language files, each file means one language so they need contains language code at the end, like: <br>
      * myLangFile_pl-PL.yml<br>
@@ -326,7 +570,7 @@ public class MessageLoader
         return new InputStreamReader(inputStream);
     }
 
-    private Locale getLocale(final String str)
+    Locale getLocale(final String str)
     {
         final Locale locale = Locale.forLanguageTag(str);
         if (locale.getDisplayName().isEmpty())
@@ -473,7 +717,7 @@ public class MessageLoader
         {
             for (final Entry<String, Map<Locale, Object>> entry : this.strings.entrySet())
             {
-                root.addMessage(Message.load(root.getApi(), entry.getValue()), entry.getKey());
+                root.addMessage(MessageLoader.this.lazy ? Message.loadLazy(root.getApi(), entry.getValue()) : Message.load(root.getApi(), entry.getValue()), entry.getKey());
             }
             for (final Entry<String, DataTree> entry : this.nodes.entrySet())
             {
@@ -491,9 +735,104 @@ public class MessageLoader
         }
     }
 
+    private static final class ConstructTask extends RecursiveTask<Messages>
+    {
+        private static final long serialVersionUID = 0;
+
+        private final DataTree tree;
+        private final Messages root;
+        private final boolean  lazy;
+
+        private ConstructTask(final DataTree tree, final Messages root, final boolean lazy)
+        {
+            this.tree = tree;
+            this.root = root;
+            this.lazy = lazy;
+        }
+
+        @Override
+        protected Messages compute()
+        {
+            final List<Entry<String, Map<Locale, Object>>> strings = new ArrayList<>(this.tree.strings.entrySet());
+            final Message[] messages = new Message[strings.size()];
+            final Collection<ForkJoinTask<?>> tasks = new ArrayList<>(this.tree.nodes.size() + 1);
+            tasks.add(new LoadTask(this.root.getApi(), strings, messages, 0, messages.length, this.lazy));
+            final List<MessagePack> nodes = new ArrayList<>(this.tree.nodes.size());
+            for (final Entry<String, DataTree> entry : this.tree.nodes.entrySet())
+            {
+                final MessagePack node = new MessagePack(this.root, entry.getKey());
+                nodes.add(node);
+                tasks.add(new ConstructTask(entry.getValue(), node, this.lazy));
+            }
+            invokeAll(tasks);
+
+            // nodes are modified only by own task, so all messages and sub-nodes are added after all tasks are done.
+            for (int i = 0; i < messages.length; i++)
+            {
+                this.root.addMessage(messages[i], strings.get(i).getKey());
+            }
+            for (final MessagePack node : nodes)
+            {
+                this.root.addNode(node);
+            }
+            return this.root;
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("tree", this.tree).append("root", this.root).toString();
+        }
+    }
+
+    private static final class LoadTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 0;
+        private static final int  THRESHOLD        = 64;
+
+        private final MessagesAPI                              api;
+        private final List<Entry<String, Map<Locale, Object>>> strings;
+        private final Message[]                                messages;
+        private final int                                      from;
+        private final int                                      to;
+        private final boolean                                  lazy;
+
+        private LoadTask(final MessagesAPI api, final List<Entry<String, Map<Locale, Object>>> strings, final Message[] messages, final int from, final int to, final boolean lazy)
+        {
+            this.api = api;
+            this.strings = strings;
+            this.messages = messages;
+            this.from = from;
+            this.to = to;
+            this.lazy = lazy;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ((this.to - this.from) <= THRESHOLD)
+            {
+                for (int i = this.from; i < this.to; i++)
+                {
+                    final Map<Locale, Object> objects = this.strings.get(i).getValue();
+                    this.messages[i] = this.lazy ? Message.loadLazy(this.api, objects) : Message.load(this.api, objects);
+                }
+                return;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            invokeAll(new LoadTask(this.api, this.strings, this.messages, this.from, middle, this.lazy), new LoadTask(this.api, this.strings, this.messages, middle, this.to, this.lazy));
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("from", this.from).append("to", this.to).toString();
+        }
+    }
+
     @Override
     public String toString()
     {
-        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("api", this.api).toString();
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("api", this.api).append("parallel", this.parallel).append("lazy", this.lazy).append("cacheFile", this.cacheFile).toString();
     }
 }
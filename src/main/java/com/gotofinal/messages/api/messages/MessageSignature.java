@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.messages;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Names of positional placeholder objects, used to send messages with arguments given in fixed order instead of {@link Message.MessageData}. <br>
+ * Compiled templates remember binding of last used signature, so signatures should be created once and stored in static fields.
+ */
+public final class MessageSignature
+{
+    private final String[] names;
+
+    /**
+     * Construct new signature with given object names.
+     *
+     * @param names names of placeholder objects, like "player" for $&lt;player.name&gt; or "killer" for $&lt;player:killer.name&gt;.
+     */
+    public MessageSignature(final String... names)
+    {
+        this.names = names.clone();
+    }
+
+    /**
+     * Returns amount of arguments of this signature.
+     *
+     * @return amount of arguments of this signature.
+     */
+    public int size()
+    {
+        return this.names.length;
+    }
+
+    /**
+     * Returns name of placeholder object used as given argument.
+     *
+     * @param index index of argument.
+     *
+     * @return name of placeholder object.
+     */
+    public String getName(final int index)
+    {
+        return this.names[index];
+    }
+
+    /**
+     * Returns names of all arguments, returned array must not be edited.
+     *
+     * @return names of all arguments.
+     */
+    String[] getNames()
+    {
+        return this.names;
+    }
+
+    /**
+     * Create {@link Message.MessageData} for each argument, used by messages that don't use compiled templates.
+     *
+     * @param args arguments in order of this signature.
+     *
+     * @return data for each argument.
+     */
+    Message.MessageData[] toData(final Object[] args)
+    {
+        final Message.MessageData[] data = new Message.MessageData[this.names.length];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = new Message.MessageData(this.names[i], (i < args.length) ? args[i] : null);
+        }
+        return data;
+    }
+
+    @Override
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("names", Arrays.toString(this.names)).toString();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.messages;
+
+import java.util.Locale;
+
+import com.gotofinal.messages.api.PreparedComponent;
+import com.gotofinal.messages.api.chat.placeholder.ComponentTemplate;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Immutable snapshot of message with already captured values of all placeholders. <br>
+ * Capturing calls all placeholder functions, so it should be done on thread that can access placeholder objects,
+ * but rendering of snapshot can be done on any thread.
+ *
+ * @see Message#capture(Locale, Message.MessageData...)
+ */
+public final class MessageSnapshot
+{
+    private final Message           message;
+    private final Locale            lang;
+    private final ComponentTemplate template;
+    private final Object[]          values;
+    private final PreparedComponent prepared;
+
+    MessageSnapshot(final Message message, final Locale lang, final ComponentTemplate template, final Object[] values)
+    {
+        this.message = message;
+        this.lang = lang;
+        this.template = template;
+        this.values = values;
+        this.prepared = null;
+    }
+
+    MessageSnapshot(final Message message, final Locale lang, final PreparedComponent prepared)
+    {
+        this.message = message;
+        this.lang = lang;
+        this.template = null;
+        this.values = null;
+        this.prepared = prepared;
+    }
+
+    /**
+     * Returns message of this snapshot.
+     *
+     * @return message of this snapshot.
+     */
+    public Message getMessage()
+    {
+        return this.message;
+    }
+
+    /**
+     * Returns language used to capture this snapshot.
+     *
+     * @return language used to capture this snapshot, may be null.
+     */
+    public Locale getLang()
+    {
+        return this.lang;
+    }
+
+    /**
+     * Render this snapshot to component prepared to send, can be called from any thread.
+     *
+     * @return prepared component.
+     */
+    public PreparedComponent render()
+    {
+        if (this.prepared != null)
+        {
+            return this.prepared;
+        }
+        return this.message.renderValues(this.template, this.values);
+    }
+
+    @Override
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("message", this.message).append("lang", this.lang).append("values", this.values).toString();
+    }
+}
@@ -24,11 +24,13 @@
 
 package com.gotofinal.messages.api.messages;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.gotofinal.messages.api.MessageReceiver;
 import com.gotofinal.messages.api.MessagesAPI;
@@ -52,6 +54,10 @@ public class Messages
     private final   Messages              parentNode;
     private final   Map<String, Message>  messages;
     private final   Map<String, Messages> nodes;
+    private final   AtomicLong            modifications; // shared by whole tree
+    private final   boolean               tracked; // false if maps are given by caller, so they may change without modifications
+    private volatile Index                index;
+    private         RenderCache           renderCache;
 
     private Messages(final MessagesAPI api, final char nodeSeparator, final Messages parentNode, final Map<String, Message> messages, final Map<String, Messages> nodes)
     {
@@ -60,6 +66,8 @@ public class Messages
         this.messages = messages;
         this.nodes = nodes;
         this.parentNode = parentNode;
+        this.modifications = parentNode.modifications;
+        this.tracked = false;
     }
 
     private Messages(final MessagesAPI api, final char nodeSeparator, final Messages parentNode)
@@ -69,6 +77,8 @@ public class Messages
         this.messages = new HashMap<>(20, .5f);
         this.nodes = new HashMap<>(5, .2f);
         this.parentNode = parentNode;
+        this.modifications = parentNode.modifications;
+        this.tracked = true;
     }
 
 
@@ -87,6 +97,8 @@ public class Messages
         this.messages = messages;
         this.nodes = nodes;
         this.parentNode = null;
+        this.modifications = new AtomicLong();
+        this.tracked = false;
     }
 
     /**
@@ -102,6 +114,8 @@ public class Messages
         this.messages = new HashMap<>(20, .5f);
         this.nodes = new HashMap<>(5, .2f);
         this.parentNode = null;
+        this.modifications = new AtomicLong();
+        this.tracked = true;
     }
 
     /**
@@ -118,6 +132,8 @@ public class Messages
         this.messages = messages;
         this.nodes = nodes;
         this.parentNode = null;
+        this.modifications = new AtomicLong();
+        this.tracked = false;
     }
 
     /**
@@ -132,6 +148,8 @@ public class Messages
         this.messages = new HashMap<>(20, .5f);
         this.nodes = new HashMap<>(5, .2f);
         this.parentNode = null;
+        this.modifications = new AtomicLong();
+        this.tracked = true;
     }
 
     /**
@@ -164,6 +182,37 @@ public class Messages
         return this.parentNode;
     }
 
+    /**
+     * Returns render cache used by messages of this node, or null if not set.
+     *
+     * @return render cache used by messages of this node or null.
+     */
+    public RenderCache getRenderCache()
+    {
+        return this.renderCache;
+    }
+
+    /**
+     * Set render cache for all messages in this node and all sub-nodes, messages added later will use it too. <br>
+     * Use null to disable caching.
+     *
+     * @param renderCache render cache to use or null.
+     *
+     * @see Message#setRenderCache(RenderCache)
+     */
+    public void setRenderCache(final RenderCache renderCache)
+    {
+        this.renderCache = renderCache;
+        for (final Message message : this.messages.values())
+        {
+            message.setRenderCache(renderCache);
+        }
+        for (final Messages node : this.nodes.values())
+        {
+            node.setRenderCache(renderCache);
+        }
+    }
+
     /**
      * Add new message instance on given path.
      *
@@ -189,7 +238,12 @@ public class Messages
         }
         if (path.length == 1)
         {
+            if (this.renderCache != null)
+            {
+                message.setRenderCache(this.renderCache);
+            }
             this.messages.put(path[0], message);
+            this.modifications.incrementAndGet();
             return;
         }
         Messages prevNode;
@@ -245,9 +299,26 @@ public class Messages
      */
     public Message getMessage(final String path)
     {
+        final Message message = this.getIndex().get(path);
+        if (message != null)
+        {
+            return message;
+        }
         return this.getMessage(StringUtils.split(path, this.nodeSeparator));
     }
 
+    /**
+     * Returns reusable handle of message on given path, handle resolves message once and then only when messages tree is modified.
+     *
+     * @param path path to message, you may use '.' (by default) as path node separator. {@link #getNodeSeparator()}
+     *
+     * @return handle of message on given path.
+     */
+    public MessageKey getKey(final String path)
+    {
+        return new MessageKey(this, path);
+    }
+
     /**
      * Returns node with messages on given path.
      *
@@ -482,6 +553,112 @@ public class Messages
         return map;
     }
 
+    /**
+     * Remove message with given name from this node.
+     *
+     * @param name name of message, without any separators.
+     *
+     * @return removed message or null.
+     */
+    Message removeMessage(final String name)
+    {
+        final Message message = this.messages.remove(name);
+        this.modifications.incrementAndGet();
+        return message;
+    }
+
+    /**
+     * Replace all messages and sub-nodes of this node by given ones, used by loader to restore node after failed read.
+     *
+     * @param messages messages of this node.
+     * @param nodes    sub-nodes of this node.
+     */
+    void restore(final Map<String, Message> messages, final Map<String, Messages> nodes)
+    {
+        this.messages.clear();
+        this.messages.putAll(messages);
+        this.nodes.clear();
+        this.nodes.putAll(nodes);
+        this.modifications.incrementAndGet();
+    }
+
+    /**
+     * Returns number of modifications of whole messages tree, used to check if resolved messages are still valid.
+     *
+     * @return number of modifications of whole messages tree.
+     */
+    long getModificationCount()
+    {
+        return this.modifications.get();
+    }
+
+    /**
+     * Returns message on given path if it is indexed, only messages of nodes that can't change without updating modification count are indexed.
+     *
+     * @param path path to message, with node separators.
+     *
+     * @return indexed message or null.
+     */
+    Message getIndexedMessage(final String path)
+    {
+        return this.getIndex().get(path);
+    }
+
+    private Map<String, Message> getIndex()
+    {
+        if (! this.tracked)
+        {
+            return Collections.emptyMap();
+        }
+        final long stamp = this.modifications.get();
+        Index index = this.index;
+        if ((index == null) || (index.stamp != stamp))
+        {
+            final Map<String, Message> messages = new HashMap<>(64);
+            this.index("", messages);
+            index = new Index(stamp, messages);
+            this.index = index;
+        }
+        return index.messages;
+    }
+
+    private void index(final String prefix, final Map<String, Message> index)
+    {
+        for (final Entry<String, Message> entry : this.messages.entrySet())
+        {
+            index.put(prefix + entry.getKey(), entry.getValue());
+        }
+        for (final Entry<String, Messages> entry : this.nodes.entrySet())
+        {
+            final Messages node = entry.getValue();
+            // nodes from other trees or with own maps may change without modifications of this tree, messages from them are always searched
+            if (node.tracked && (node.modifications == this.modifications))
+            {
+                node.index(prefix + entry.getKey() + this.nodeSeparator, index);
+            }
+        }
+    }
+
+    /**
+     * Returns map of messages in this node, used by loader.
+     *
+     * @return map of messages in this node.
+     */
+    Map<String, Message> getMessagesMap()
+    {
+        return this.messages;
+    }
+
+    /**
+     * Returns map of sub-nodes of this node, used by loader.
+     *
+     * @return map of sub-nodes of this node.
+     */
+    Map<String, Messages> getNodesMap()
+    {
+        return this.nodes;
+    }
+
     /**
      * Add given node to nodes map.
      *
@@ -489,7 +666,24 @@ public class Messages
      */
     protected void addNode(final MessagePack pack)
     {
+        if (this.renderCache != null)
+        {
+            pack.setRenderCache(this.renderCache);
+        }
         this.nodes.put(pack.node, pack);
+        this.modifications.incrementAndGet();
+    }
+
+    private static final class Index
+    {
+        private final long                 stamp;
+        private final Map<String, Message> messages;
+
+        private Index(final long stamp, final Map<String, Message> messages)
+        {
+            this.stamp = stamp;
+            this.messages = messages;
+        }
     }
 
     protected static class MessagePack extends Messages
@@ -500,6 +694,7 @@ public class Messages
         {
             super(parentNode.api, parentNode.nodeSeparator, parentNode);
             this.node = node;
+            this.setRenderCache(parentNode.renderCache);
         }
 
         protected MessagePack(final Messages parentNode, final String node, final Map<String, Message> messages, final Map<String, Messages> nodes)
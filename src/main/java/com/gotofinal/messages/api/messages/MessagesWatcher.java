@@ -0,0 +1,375 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.messages;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.gotofinal.messages.api.MessagesAPI;
+import com.gotofinal.messages.api.SimpleConfigManager;
+import com.gotofinal.messages.api.messages.Messages.MessagePack;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Watches folder with language files and reloads only changed messages of changed file. <br>
+ * Changed file is parsed and compiled on watcher thread, and then changed messages are swapped in live messages tree using
+ * {@link MessagesAPI#getMainThreadExecutor()} (or on watcher thread if there is no main thread executor), cached renders of replaced messages
+ * are removed from their {@link RenderCache}.
+ *
+ * @see MessageLoader#watch(String, File, Function, Messages)
+ */
+public class MessagesWatcher implements Closeable
+{
+    private static final long DEBOUNCE = 100;
+
+    private final MessageLoader                          loader;
+    private final MessagesAPI                            api;
+    private final String                                 prefix;
+    private final File                                   folder;
+    private final Messages                               node;
+    private final SimpleConfigManager                    yaml = new SimpleConfigManager();
+    private final WatchService                           watchService;
+    private final Thread                                 thread;
+    private final Map<Locale, Map<List<String>, Object>> defaults;
+    private final Map<Locale, Map<List<String>, Object>> values;
+    private final Set<Locale>                            supported;
+
+    private volatile boolean closed;
+
+    MessagesWatcher(final MessageLoader loader, final MessagesAPI api, final String prefix, final File folder, final Function<Locale, Reader> defaultValuesFunction, final Messages node) throws IOException
+    {
+        this.loader = loader;
+        this.api = api;
+        this.prefix = prefix;
+        this.folder = folder;
+        this.node = node;
+        this.supported = new HashSet<>(Arrays.asList(api.getLanguages()));
+        this.defaults = new HashMap<>(this.supported.size());
+        this.values = new HashMap<>(this.supported.size());
+        for (final Locale locale : api.getLanguages())
+        {
+            final Map<List<String>, Object> defaultValues = new HashMap<>(64);
+            try (final Reader reader = defaultValuesFunction.apply(locale))
+            {
+                if (reader != null)
+                {
+                    flatten(Collections.emptyList(), this.yaml.load(Map.class, reader), defaultValues);
+                }
+            }
+            this.defaults.put(locale, defaultValues);
+            this.values.put(locale, defaultValues);
+        }
+        final File[] files = folder.listFiles();
+        if (files != null)
+        {
+            for (final File file : files)
+            {
+                final Locale locale = this.getLocale(file);
+                if (locale != null)
+                {
+                    this.values.put(locale, this.load(locale, file));
+                }
+            }
+        }
+        this.watchService = folder.toPath().getFileSystem().newWatchService();
+        folder.toPath().register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = new Thread(this::watch, "MessagesWatcher-" + folder.getName());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Returns folder watched by this watcher.
+     *
+     * @return folder watched by this watcher.
+     */
+    public File getFolder()
+    {
+        return this.folder;
+    }
+
+    /**
+     * Returns messages node updated by this watcher.
+     *
+     * @return messages node updated by this watcher.
+     */
+    public Messages getNode()
+    {
+        return this.node;
+    }
+
+    /**
+     * Start watching folder on own daemon thread.
+     */
+    public void start()
+    {
+        this.thread.start();
+    }
+
+    /**
+     * Reload given language file now, only messages that differ from last loaded state of this file are replaced. <br>
+     * Deleted file is treated as file without any messages, so only default values are used.
+     *
+     * @param file language file to reload.
+     *
+     * @return future completed with number of replaced messages, after they are swapped in live messages tree.
+     */
+    public synchronized CompletableFuture<Integer> reload(final File file)
+    {
+        final Locale locale = this.getLocale(file);
+        if (locale == null)
+        {
+            return CompletableFuture.completedFuture(0);
+        }
+        final Map<List<String>, Object> newValues;
+        try
+        {
+            newValues = this.load(locale, file);
+        } catch (final IOException e)
+        {
+            final CompletableFuture<Integer> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        final Map<List<String>, Object> oldValues = this.values.put(locale, newValues);
+        final Set<List<String>> changed = new LinkedHashSet<>(20);
+        for (final Entry<List<String>, Object> entry : newValues.entrySet())
+        {
+            if (! Objects.equals(entry.getValue(), oldValues.get(entry.getKey())))
+            {
+                changed.add(entry.getKey());
+            }
+        }
+        for (final List<String> path : oldValues.keySet())
+        {
+            if (! newValues.containsKey(path))
+            {
+                changed.add(path);
+            }
+        }
+        if (changed.isEmpty())
+        {
+            return CompletableFuture.completedFuture(0);
+        }
+        final boolean lazy = this.loader.isLazy();
+        final Map<List<String>, Message> messages = new HashMap<>(changed.size());
+        for (final List<String> path : changed)
+        {
+            final Map<Locale, Object> objects = new HashMap<>(this.values.size());
+            for (final Entry<Locale, Map<List<String>, Object>> entry : this.values.entrySet())
+            {
+                final Object value = entry.getValue().get(path);
+                if (value != null)
+                {
+                    objects.put(entry.getKey(), value);
+                }
+            }
+            messages.put(path, objects.isEmpty() ? null : (lazy ? Message.loadLazy(this.api, objects) : Message.load(this.api, objects)));
+        }
+        final Executor mainThread = this.api.getMainThreadExecutor();
+        final CompletableFuture<Collection<Message>> swapped = (mainThread == null) ? CompletableFuture.completedFuture(this.swap(messages)) : CompletableFuture.supplyAsync(() -> this.swap(messages), mainThread);
+        return swapped.thenApplyAsync(replaced -> {
+            for (final Message message : replaced)
+            {
+                final RenderCache renderCache = message.getRenderCache();
+                if (renderCache != null)
+                {
+                    renderCache.invalidate(message.getTemplates());
+                }
+            }
+            return messages.size();
+        }, this.api.getRenderExecutor());
+    }
+
+    /**
+     * Stop watching folder.
+     *
+     * @throws IOException if watch service can't be closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.closed = true;
+        this.watchService.close();
+    }
+
+    private Collection<Message> swap(final Map<List<String>, Message> messages)
+    {
+        final Collection<Message> replaced = new ArrayList<>(messages.size());
+        for (final Entry<List<String>, Message> entry : messages.entrySet())
+        {
+            final List<String> path = entry.getKey();
+            final Message message = entry.getValue();
+            final String[] name = StringUtils.split(path.get(path.size() - 1), this.node.getNodeSeparator());
+            if (name.length == 0)
+            {
+                continue;
+            }
+            // nodes from yaml sections are added by raw name, message keys are split like in Messages#addMessage(Message, String)
+            Messages parent = this.node;
+            for (int i = 0; (parent != null) && (i < (path.size() - 1)); i++)
+            {
+                Messages next = parent.getNodesMap().get(path.get(i));
+                if ((next == null) && (message != null))
+                {
+                    final MessagePack pack = new MessagePack(parent, path.get(i));
+                    parent.addNode(pack);
+                    next = pack;
+                }
+                parent = next;
+            }
+            if (parent == null)
+            {
+                continue;
+            }
+            final Message old = parent.getMessage(name);
+            if (old != null)
+            {
+                replaced.add(old);
+            }
+            if (message != null)
+            {
+                parent.addMessage(message, name);
+            }
+            else if (old != null)
+            {
+                final Messages messagesNode = (name.length == 1) ? parent : parent.getMessages(Arrays.copyOf(name, name.length - 1));
+                messagesNode.removeMessage(name[name.length - 1]);
+            }
+        }
+        return replaced;
+    }
+
+    private void watch()
+    {
+        while (! this.closed)
+        {
+            try
+            {
+                final Set<Path> changed = new LinkedHashSet<>(4);
+                WatchKey key = this.watchService.take();
+                // editors often write file in few steps, so all events from short time are collected and each file is reloaded once.
+                while (key != null)
+                {
+                    for (final WatchEvent<?> event : key.pollEvents())
+                    {
+                        if (event.context() instanceof Path)
+                        {
+                            changed.add((Path) event.context());
+                        }
+                    }
+                    key.reset();
+                    key = this.watchService.poll(DEBOUNCE, TimeUnit.MILLISECONDS);
+                }
+                for (final Path path : changed)
+                {
+                    this.reload(new File(this.folder, path.toString())).exceptionally(e -> {
+                        e.printStackTrace();
+                        return 0;
+                    });
+                }
+            } catch (final InterruptedException | ClosedWatchServiceException e)
+            {
+                return;
+            }
+        }
+    }
+
+    private Map<List<String>, Object> load(final Locale locale, final File file) throws IOException
+    {
+        final Map<List<String>, Object> result = new HashMap<>(this.defaults.get(locale));
+        if (file.isFile())
+        {
+            flatten(Collections.emptyList(), this.yaml.load(Map.class, file), result);
+        }
+        return result;
+    }
+
+    private Locale getLocale(final File file)
+    {
+        final String name = file.getName();
+        if (! name.startsWith(this.prefix) || ! name.endsWith(".yml"))
+        {
+            return null;
+        }
+        final Locale locale = this.loader.getLocale(name.substring(this.prefix.length(), name.lastIndexOf('.')));
+        return this.supported.contains(locale) ? locale : null;
+    }
+
+    private static void flatten(final List<String> node, final Map<?, ?> map, final Map<List<String>, Object> result)
+    {
+        if (map == null)
+        {
+            return;
+        }
+        for (final Entry<?, ?> entry : map.entrySet())
+        {
+            final List<String> path = new ArrayList<>(node.size() + 1);
+            path.addAll(node);
+            path.add(entry.getKey().toString());
+            if (entry.getValue() instanceof Map)
+            {
+                flatten(path, (Map<?, ?>) entry.getValue(), result);
+            }
+            else
+            {
+                result.put(path, entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("prefix", this.prefix).append("folder", this.folder).append("node", this.node).toString();
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.messages;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.gotofinal.messages.api.PreparedComponent;
+import com.gotofinal.messages.api.chat.component.BaseComponent;
+import com.gotofinal.messages.api.chat.placeholder.ComponentTemplate;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Size-bounded cache of rendered messages, keyed by compiled template (so by message and selected locale) and values of all placeholders. <br>
+ * Rendered components are kept by soft references and are frozen, so they can be shared between all identical renders. <br>
+ * Renders that use components as placeholder values are never cached, as components are compared by identity and each apply creates new ones,
+ * see {@link #getSkippedCount()}.
+ *
+ * @see Messages#setRenderCache(RenderCache)
+ */
+public class RenderCache
+{
+    private final Cache<Key, PreparedComponent> cache;
+    private final LongAdder                     skipped = new LongAdder();
+
+    /**
+     * Construct new render cache with given size and time to live of entries.
+     *
+     * @param maximumSize max amount of cached components.
+     * @param ttl         time to live of cached components, use 0 to keep them as long as possible.
+     * @param unit        unit of time to live.
+     */
+    public RenderCache(final long maximumSize, final long ttl, final TimeUnit unit)
+    {
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maximumSize).softValues().recordStats();
+        if (ttl > 0)
+        {
+            builder.expireAfterWrite(ttl, unit);
+        }
+        this.cache = builder.build();
+    }
+
+    /**
+     * Construct new render cache with given size, cached components will be kept as long as possible.
+     *
+     * @param maximumSize max amount of cached components.
+     */
+    public RenderCache(final long maximumSize)
+    {
+        this(maximumSize, 0, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns rendered component for given template and values, component is rendered only if it isn't cached yet. <br>
+     * Returned component is editable deep copy of cached frozen component.
+     *
+     * @param template template to render.
+     * @param values   values of template slots. {@link ComponentTemplate#apply(Object[])}
+     *
+     * @return rendered component, editable copy of cached component.
+     */
+    public BaseComponent render(final ComponentTemplate template, final Object[] values)
+    {
+        return this.prepare(template, values).getComponent().duplicate();
+    }
+
+    /**
+     * Returns prepared component for given template and values, component is rendered only if it isn't cached yet. <br>
+     * Prepared component is cached too, so converted platform component is also reused. <br>
+     * Wrapped component of cached result is frozen.
+     *
+     * @param template template to render.
+     * @param values   values of template slots. {@link ComponentTemplate#apply(Object[])}
+     *
+     * @return prepared component, shared between all renders with this same values.
+     */
+    public PreparedComponent prepare(final ComponentTemplate template, final Object[] values)
+    {
+        if (! isCacheable(values))
+        {
+            this.skipped.increment();
+            return template.prepare(values);
+        }
+        final Key key = new Key(template, values);
+        PreparedComponent component = this.cache.getIfPresent(key);
+        if (component == null)
+        {
+            component = template.prepare(values);
+            component.getComponent().freeze();
+            this.cache.put(key, component);
+        }
+        return component;
+    }
+
+    private static boolean isCacheable(final Object[] values)
+    {
+        for (final Object value : values)
+        {
+            if (value instanceof BaseComponent)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns amount of renders that used cached component.
+     *
+     * @return amount of cache hits.
+     */
+    public long getHitCount()
+    {
+        return this.cache.stats().hitCount();
+    }
+
+    /**
+     * Returns amount of renders that needed to render new component.
+     *
+     * @return amount of cache misses.
+     */
+    public long getMissCount()
+    {
+        return this.cache.stats().missCount();
+    }
+
+    /**
+     * Returns amount of renders that were not cached because some placeholder value was a component.
+     *
+     * @return amount of skipped renders.
+     */
+    public long getSkippedCount()
+    {
+        return this.skipped.sum();
+    }
+
+    /**
+     * Returns all statistics of this cache.
+     *
+     * @return statistics of this cache.
+     */
+    public CacheStats getStats()
+    {
+        return this.cache.stats();
+    }
+
+    /**
+     * Returns approximate amount of cached components.
+     *
+     * @return approximate amount of cached components.
+     */
+    public long size()
+    {
+        return this.cache.size();
+    }
+
+    /**
+     * Removes all cached components.
+     */
+    public void invalidateAll()
+    {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Removes all cached components rendered from any of given templates.
+     *
+     * @param templates templates to invalidate.
+     */
+    public void invalidate(final Collection<ComponentTemplate> templates)
+    {
+        if (templates.isEmpty())
+        {
+            return;
+        }
+        final Set<ComponentTemplate> set = Collections.newSetFromMap(new IdentityHashMap<>(templates.size()));
+        set.addAll(templates);
+        this.cache.asMap().keySet().removeIf(key -> set.contains(key.template));
+    }
+
+    @Override
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("stats", this.cache.stats()).append("skipped", this.skipped.sum()).toString();
+    }
+
+    private static final class Key
+    {
+        private final ComponentTemplate template;
+        private final Object[]          values;
+        private final int               hash;
+
+        private Key(final ComponentTemplate template, final Object[] values)
+        {
+            this.template = template;
+            this.values = values;
+            this.hash = (31 * System.identityHashCode(template)) + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (! (o instanceof Key))
+            {
+                return false;
+            }
+            final Key that = (Key) o;
+            return (this.template == that.template) && Arrays.equals(this.values, that.values);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+
+        @Override
+        public String toString()
+        {
+            return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("template", this.template).append("values", this.values).toString();
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 
 import com.gotofinal.messages.api.ChatConverter;
 import com.gotofinal.messages.api.UnsupportedChatElement;
+import com.gotofinal.messages.api.chat.component.Style;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -104,12 +105,16 @@ public class BukkitChatConverter implements ChatConverter<BaseComponent>
         {
             throw new UnsupportedChatElement(baseComponent.toString());
         }
-        cpy.setBold(baseComponent.isBoldRaw());
-        cpy.setItalic(baseComponent.isItalicRaw());
-        cpy.setObfuscated(baseComponent.isObfuscatedRaw());
-        cpy.setStrikethrough(baseComponent.isStrikethroughRaw());
-        cpy.setUnderlined(baseComponent.isUnderlinedRaw());
-        cpy.setColor(this.getColor(baseComponent.getColorRaw()));
+        final Style style = baseComponent.getStyle();
+        if (! style.isEmpty())
+        {
+            cpy.setBold(style.isBold());
+            cpy.setItalic(style.isItalic());
+            cpy.setObfuscated(style.isObfuscated());
+            cpy.setStrikethrough(style.isStrikethrough());
+            cpy.setUnderlined(style.isUnderlined());
+            cpy.setColor(this.getColor(style.getColor()));
+        }
 
         {
             final com.gotofinal.messages.api.chat.component.ClickEvent tmp = baseComponent.getClickEvent();
@@ -1,9 +1,12 @@
 package com.gotofinal.messages.bukkit;
 
+import com.gotofinal.messages.api.JsonChatAdapter;
 import com.gotofinal.messages.api.MessageReceiver;
+import com.gotofinal.messages.api.PreparedComponent;
 import com.gotofinal.messages.api.chat.component.BaseComponent;
 
 import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -38,6 +41,43 @@ public class BukkitMessageReceiver implements MessageReceiver
         }
     }
 
+    /**
+     * Sends prepared message to receiver, using cached conversion or json of it.
+     *
+     * @param msg message to send.
+     */
+    @Override
+    public void sendMessage(final PreparedComponent msg)
+    {
+        if (this.sender instanceof Player)
+        {
+            final JsonChatAdapter<Player> jsonChatAdapter = this.api.jsonChatAdapter;
+            if (jsonChatAdapter == null)
+            {
+                ((Player) this.sender).spigot().sendMessage(msg.convert(this.api.chatConverter));
+            }
+            else
+            {
+                jsonChatAdapter.accept((Player) this.sender, msg.toJson());
+            }
+        }
+        else
+        {
+            this.sender.sendMessage(msg.toPlainText());
+        }
+    }
+
+    /**
+     * Returns true if this receiver is a console, so messages can be send from any thread.
+     *
+     * @return true if this receiver is a console.
+     */
+    @Override
+    public boolean isAsyncSafe()
+    {
+        return this.sender instanceof ConsoleCommandSender;
+    }
+
     @Override
     public String toString()
     {
@@ -2,17 +2,21 @@ package com.gotofinal.messages.bukkit;
 
 import java.util.Iterator;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.logging.Logger;
 
 import com.gotofinal.messages.BaseMessagesAPI;
 import com.gotofinal.messages.api.ChatConverter;
+import com.gotofinal.messages.api.JsonChatAdapter;
 import com.gotofinal.messages.api.MessageReceiver;
+import com.gotofinal.messages.api.PreparedComponent;
 import com.gotofinal.messages.api.ReceiverConverter;
 import com.gotofinal.messages.api.chat.component.BaseComponent;
 
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -21,13 +25,26 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 public class BukkitMessagesAPI extends BaseMessagesAPI
 {
     protected ChatConverter<net.md_5.bungee.api.chat.BaseComponent> chatConverter     = new BukkitChatConverter();
+    protected JsonChatAdapter<Player>                               jsonChatAdapter;
     protected ReceiverConverter<CommandSender>                      receiverConverter = new BukkitReceiverConverter(this);
-    protected final Plugin plugin;
+    protected final Plugin   plugin;
+    protected final Executor mainThreadExecutor;
 
     public BukkitMessagesAPI(final Plugin plugin, final Locale... locales)
     {
         super(locales);
         this.plugin = plugin;
+        this.mainThreadExecutor = task ->
+        {
+            if (Bukkit.isPrimaryThread())
+            {
+                task.run();
+            }
+            else
+            {
+                Bukkit.getScheduler().runTask(this.plugin, task);
+            }
+        };
     }
 
     @Override
@@ -49,6 +66,19 @@ public class BukkitMessagesAPI extends BaseMessagesAPI
         this.chatConverter = (ChatConverter<net.md_5.bungee.api.chat.BaseComponent>) chatConverter;
     }
 
+    @Override
+    public JsonChatAdapter<Player> getJsonChatAdapter()
+    {
+        return this.jsonChatAdapter;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void setJsonChatAdapter(final JsonChatAdapter<?> jsonChatAdapter)
+    {
+        this.jsonChatAdapter = (JsonChatAdapter<Player>) jsonChatAdapter;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void setReceiverConverter(final ReceiverConverter<?> receiverConverter)
@@ -62,6 +92,41 @@ public class BukkitMessagesAPI extends BaseMessagesAPI
         Bukkit.spigot().broadcast(this.chatConverter.apply(msg));
     }
 
+    @Override
+    public void broadcastMessage(final PreparedComponent msg)
+    {
+        final JsonChatAdapter<Player> jsonChatAdapter = this.jsonChatAdapter;
+        if (jsonChatAdapter == null)
+        {
+            Bukkit.spigot().broadcast(msg.convert(this.chatConverter));
+            return;
+        }
+        final String json = msg.toJson();
+        for (final Player player : Bukkit.getOnlinePlayers())
+        {
+            jsonChatAdapter.accept(player, json);
+        }
+    }
+
+    @Override
+    public Executor getMainThreadExecutor()
+    {
+        return this.mainThreadExecutor;
+    }
+
+    @Override
+    public void prepareMessage(final PreparedComponent msg)
+    {
+        if (this.jsonChatAdapter == null)
+        {
+            msg.convert(this.chatConverter);
+        }
+        else
+        {
+            msg.toJson();
+        }
+    }
+
     @Override
     public Iterable<MessageReceiver> getReceivers()
     {
@@ -131,6 +196,6 @@ public class BukkitMessagesAPI extends BaseMessagesAPI
     @Override
     public String toString()
     {
-        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("chatConverter", this.chatConverter).append("receiverConverter", this.receiverConverter).append("plugin", this.plugin).toString();
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("chatConverter", this.chatConverter).append("jsonChatAdapter", this.jsonChatAdapter).append("receiverConverter", this.receiverConverter).append("plugin", this.plugin).toString();
     }
 }
@@ -1,12 +1,15 @@
 package com.gotofinal.messages.bungee;
 
+import com.gotofinal.messages.api.JsonChatAdapter;
 import com.gotofinal.messages.api.MessageReceiver;
+import com.gotofinal.messages.api.PreparedComponent;
 import com.gotofinal.messages.api.chat.component.BaseComponent;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
 import net.md_5.bungee.api.CommandSender;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
 
 public class BungeeMessageReceiver implements MessageReceiver
 {
@@ -30,6 +33,34 @@ public class BungeeMessageReceiver implements MessageReceiver
         this.sender.sendMessage(this.api.chatConverter.apply(msg));
     }
 
+    /**
+     * Sends prepared message to receiver, using cached conversion or json of it.
+     *
+     * @param msg message to send.
+     */
+    @Override
+    public void sendMessage(final PreparedComponent msg)
+    {
+        final JsonChatAdapter<ProxiedPlayer> jsonChatAdapter = this.api.jsonChatAdapter;
+        if ((jsonChatAdapter != null) && (this.sender instanceof ProxiedPlayer))
+        {
+            jsonChatAdapter.accept((ProxiedPlayer) this.sender, msg.toJson());
+            return;
+        }
+        this.sender.sendMessage(msg.convert(this.api.chatConverter));
+    }
+
+    /**
+     * Bungee senders are thread safe, so messages can be send from any thread.
+     *
+     * @return always true.
+     */
+    @Override
+    public boolean isAsyncSafe()
+    {
+        return true;
+    }
+
     @Override
     public String toString()
     {
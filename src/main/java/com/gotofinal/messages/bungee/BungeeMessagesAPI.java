@@ -7,21 +7,23 @@ import java.util.logging.Logger;
 
 import com.gotofinal.messages.BaseMessagesAPI;
 import com.gotofinal.messages.api.ChatConverter;
+import com.gotofinal.messages.api.JsonChatAdapter;
 import com.gotofinal.messages.api.MessageReceiver;
+import com.gotofinal.messages.api.PreparedComponent;
 import com.gotofinal.messages.api.ReceiverConverter;
 import com.gotofinal.messages.api.chat.component.BaseComponent;
 
-import org.bukkit.Bukkit;
-
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
 import net.md_5.bungee.api.CommandSender;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.api.plugin.Plugin;
 
 public class BungeeMessagesAPI extends BaseMessagesAPI
 {
     protected ChatConverter<net.md_5.bungee.api.chat.BaseComponent> chatConverter     = new BungeeChatConverter();
+    protected JsonChatAdapter<ProxiedPlayer>                        jsonChatAdapter;
     protected ReceiverConverter<CommandSender>                      receiverConverter = new BungeeReceiverConverter(this);
     protected final Plugin plugin;
 
@@ -50,6 +52,19 @@ public class BungeeMessagesAPI extends BaseMessagesAPI
         this.chatConverter = (ChatConverter<net.md_5.bungee.api.chat.BaseComponent>) chatConverter;
     }
 
+    @Override
+    public JsonChatAdapter<ProxiedPlayer> getJsonChatAdapter()
+    {
+        return this.jsonChatAdapter;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void setJsonChatAdapter(final JsonChatAdapter<?> jsonChatAdapter)
+    {
+        this.jsonChatAdapter = (JsonChatAdapter<ProxiedPlayer>) jsonChatAdapter;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void setReceiverConverter(final ReceiverConverter<?> receiverConverter)
@@ -60,7 +75,36 @@ public class BungeeMessagesAPI extends BaseMessagesAPI
     @Override
     public void broadcastMessage(final BaseComponent msg)
     {
-        Bukkit.spigot().broadcast(this.chatConverter.apply(msg));
+        this.plugin.getProxy().broadcast(this.chatConverter.apply(msg));
+    }
+
+    @Override
+    public void broadcastMessage(final PreparedComponent msg)
+    {
+        final JsonChatAdapter<ProxiedPlayer> jsonChatAdapter = this.jsonChatAdapter;
+        if (jsonChatAdapter == null)
+        {
+            this.plugin.getProxy().broadcast(msg.convert(this.chatConverter));
+            return;
+        }
+        final String json = msg.toJson();
+        for (final ProxiedPlayer player : this.plugin.getProxy().getPlayers())
+        {
+            jsonChatAdapter.accept(player, json);
+        }
+    }
+
+    @Override
+    public void prepareMessage(final PreparedComponent msg)
+    {
+        if (this.jsonChatAdapter == null)
+        {
+            msg.convert(this.chatConverter);
+        }
+        else
+        {
+            msg.toJson();
+        }
     }
 
     @Override
@@ -132,6 +176,6 @@ public class BungeeMessagesAPI extends BaseMessagesAPI
     @Override
     public String toString()
     {
-        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("chatConverter", this.chatConverter).append("receiverConverter", this.receiverConverter).append("plugin", this.plugin).toString();
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).appendSuper(super.toString()).append("chatConverter", this.chatConverter).append("jsonChatAdapter", this.jsonChatAdapter).append("receiverConverter", this.receiverConverter).append("plugin", this.plugin).toString();
     }
 }
@@ -0,0 +1,237 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016. Diorite (by Bartłomiej Mazur (aka GotoFinal))
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.gotofinal.messages.api.messages;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+import com.gotofinal.messages.BaseMessagesAPI;
+import com.gotofinal.messages.api.ChatConverter;
+import com.gotofinal.messages.api.JsonChatAdapter;
+import com.gotofinal.messages.api.MessageReceiver;
+import com.gotofinal.messages.api.PreparedComponent;
+import com.gotofinal.messages.api.ReceiverConverter;
+import com.gotofinal.messages.api.chat.component.BaseComponent;
+import com.gotofinal.messages.api.chat.placeholder.ComponentTemplate;
+import com.gotofinal.messages.api.chat.placeholder.PlaceholderType;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks bytes allocated by sends using {@link MessageContext}, measured by {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}. <br>
+ * Dynamic messages are checked before render, so only binding of objects and filling of template slots is measured,
+ * and {@link ComponentTemplate#render(Object[])} is excluded.
+ */
+public class MessageContextAllocationTest
+{
+    private static final int WARMUP     = 200_000;
+    private static final int ITERATIONS = 100_000;
+
+    private static com.sun.management.ThreadMXBean bean;
+    private static BenchmarkApi                    api;
+    private static MessageReceiver                 receiver;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        bean = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(bean.isThreadAllocatedMemorySupported());
+        bean.setThreadAllocatedMemoryEnabled(true);
+        final PlaceholderType<String> type = PlaceholderType.create("benchmark", String.class);
+        type.registerItem("name", s -> s);
+        api = new BenchmarkApi();
+        receiver = new BenchmarkReceiver();
+    }
+
+    @Test
+    public void staticSendDoesNotAllocate()
+    {
+        final Message message = Message.load(api, (Object) "&aStatic message.");
+        final long bytes = measure(() ->
+        {
+            try (final MessageContext context = MessageContext.get())
+            {
+                message.sendWith(receiver, context.with("benchmark", "first").with("other", "second"));
+            }
+        });
+        Assert.assertEquals("bytes allocated by send of static message", 0, bytes);
+    }
+
+    @Test
+    public void twoObjectsBindAllocatesOnlySlotValues()
+    {
+        final Message message = Message.load(api, (Object) "&aHello $<benchmark.name>, $<benchmark:other.name>");
+        final ComponentTemplate template = message.select(Locale.ENGLISH);
+        final long bytes = measure(() ->
+        {
+            try (final MessageContext context = MessageContext.get())
+            {
+                context.with("benchmark", "first").with("other", "second").apply(template);
+            }
+        });
+        assertOnlySlotValues(template, bytes);
+    }
+
+    @Test
+    public void threeObjectsBindAllocatesOnlySlotValues()
+    {
+        final Message message = Message.load(api, (Object) "&aHello $<benchmark.name>, $<benchmark:other.name> and $<benchmark:third.name>");
+        final ComponentTemplate template = message.select(Locale.ENGLISH);
+        final long bytes = measure(() ->
+        {
+            try (final MessageContext context = MessageContext.get())
+            {
+                context.with("benchmark", "first").with("other", "second").with("third", "third").apply(template);
+            }
+        });
+        assertOnlySlotValues(template, bytes);
+    }
+
+    // only array of slot values returned by ComponentTemplate#apply may be allocated, header and references are counted as 8 bytes each to not depend on compressed oops.
+    private static void assertOnlySlotValues(final ComponentTemplate template, final long bytes)
+    {
+        Assert.assertNotNull(template);
+        Assert.assertFalse(template.isStatic());
+        final long valuesBytes = (16 + (template.getSlotsCount() * 8) + 7) & ~ 7;
+        Assert.assertTrue("bytes allocated before render: " + bytes + ", expected at most " + valuesBytes, bytes <= valuesBytes);
+    }
+
+    private static long measure(final Runnable action)
+    {
+        final long thread = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++)
+        {
+            action.run();
+        }
+        final long start = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            action.run();
+        }
+        return (bean.getThreadAllocatedBytes(thread) - start) / ITERATIONS;
+    }
+
+    private static final class BenchmarkReceiver implements MessageReceiver
+    {
+        private int sent;
+
+        @Override
+        public void sendMessage(final BaseComponent msg)
+        {
+            this.sent++;
+        }
+
+        @Override
+        public void sendMessage(final PreparedComponent msg)
+        {
+            this.sent++;
+        }
+
+        @Override
+        public boolean isAsyncSafe()
+        {
+            return true;
+        }
+
+        @Override
+        public Locale getPreferredLocale()
+        {
+            return Locale.ENGLISH;
+        }
+    }
+
+    private static final class BenchmarkApi extends BaseMessagesAPI
+    {
+        private BenchmarkApi()
+        {
+            super(Locale.ENGLISH);
+        }
+
+        @Override
+        public ChatConverter<?> getChatConverter()
+        {
+            return null;
+        }
+
+        @Override
+        public void setChatConverter(final ChatConverter<?> chatConverter)
+        {
+        }
+
+        @Override
+        public JsonChatAdapter<?> getJsonChatAdapter()
+        {
+            return null;
+        }
+
+        @Override
+        public void setJsonChatAdapter(final JsonChatAdapter<?> jsonChatAdapter)
+        {
+        }
+
+        @Override
+        public ReceiverConverter<?> getReceiverConverter()
+        {
+            return null;
+        }
+
+        @Override
+        public void setReceiverConverter(final ReceiverConverter<?> receiverConverter)
+        {
+        }
+
+        @Override
+        public Executor getMainThreadExecutor()
+        {
+            return Runnable::run;
+        }
+
+        @Override
+        public void broadcastMessage(final BaseComponent msg)
+        {
+        }
+
+        @Override
+        public Iterable<MessageReceiver> getReceivers()
+        {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Logger getLogger()
+        {
+            return Logger.getLogger("MessageContextAllocationTest");
+        }
+    }
+}